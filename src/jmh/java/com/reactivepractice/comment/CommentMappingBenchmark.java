@@ -0,0 +1,58 @@
+package com.reactivepractice.comment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.handler.response.CommentResponse;
+import com.reactivepractice.common.MapReadable;
+import io.r2dbc.spi.Readable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommentMappingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Readable row;
+    private Comment comment;
+    private CommentResponse commentResponse;
+
+    @Setup
+    public void setUp() {
+        row = new MapReadable(Map.of(
+                "id", 1L,
+                "contents", "댓글 내용",
+                "user_id", 1L,
+                "email", "test@test.com",
+                "name", "test",
+                "post_id", 1L,
+                "title", "제목"));
+        comment = Comment.fromWithPost(row);
+        commentResponse = CommentResponse.from(comment);
+    }
+
+    @Benchmark
+    public Comment mapRow() {
+        return Comment.fromWithPost(row);
+    }
+
+    @Benchmark
+    public CommentResponse toResponse() {
+        return CommentResponse.from(comment);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(commentResponse);
+    }
+}
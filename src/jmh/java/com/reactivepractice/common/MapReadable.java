@@ -0,0 +1,29 @@
+package com.reactivepractice.common;
+
+import io.r2dbc.spi.Readable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MapReadable implements Readable {
+
+    private final Map<String, Object> columns;
+    private final List<Object> values;
+
+    public MapReadable(Map<String, Object> columns) {
+        this.columns = new LinkedHashMap<>(columns);
+        this.values = new ArrayList<>(columns.values());
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        return type.cast(values.get(index));
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        return type.cast(columns.get(name));
+    }
+}
@@ -0,0 +1,52 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.user.handler.response.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.mock.web.server.MockWebSession;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionUtilsBenchmark {
+
+    private MockServerRequest loggedInRequest;
+    private MockServerRequest anonymousRequest;
+
+    @Setup
+    public void setUp() {
+        MockWebSession loggedInSession = new MockWebSession();
+        loggedInSession.getAttributes().put(SessionUtils.USER_SESSION_KEY, UserResponse.builder()
+                .id(1L)
+                .email("test@test.com")
+                .name("test")
+                .build());
+        loggedInRequest = MockServerRequest.builder()
+                .session(loggedInSession)
+                .build();
+        anonymousRequest = MockServerRequest.builder()
+                .session(new MockWebSession())
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse getLoginUser() {
+        return SessionUtils.getLoginUser(loggedInRequest).block();
+    }
+
+    @Benchmark
+    public UserResponse getLoginUserWithoutSessionUser() {
+        return SessionUtils.getLoginUser(anonymousRequest)
+                .onErrorResume(throwable -> Mono.empty())
+                .block();
+    }
+}
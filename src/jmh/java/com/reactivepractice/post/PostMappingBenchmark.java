@@ -0,0 +1,88 @@
+package com.reactivepractice.post;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.common.MapReadable;
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.post.hadler.response.PostResponse;
+import com.reactivepractice.user.domain.User;
+import io.r2dbc.spi.Readable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostMappingBenchmark {
+
+    @Param({"0", "20", "100"})
+    private int commentCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Readable row;
+    private Post post;
+    private PostResponse postResponse;
+
+    @Setup
+    public void setUp() {
+        row = new MapReadable(Map.of(
+                "id", 1L,
+                "title", "제목",
+                "contents", "내용".repeat(100),
+                "user_id", 1L,
+                "email", "test@test.com",
+                "name", "test"));
+        User writer = User.builder()
+                .id(1L)
+                .email("test@test.com")
+                .name("test")
+                .build();
+        List<Comment> comments = LongStream.rangeClosed(1, commentCount)
+                .mapToObj(id -> Comment.builder()
+                        .id(id)
+                        .contents("댓글 " + id)
+                        .writer(writer)
+                        .build())
+                .toList();
+        post = Post.builder()
+                .id(1L)
+                .title("제목")
+                .contents("내용".repeat(100))
+                .user(writer)
+                .comments(comments)
+                .build();
+        postResponse = PostResponse.fromWithWriter(post);
+    }
+
+    @Benchmark
+    public Post mapRow() {
+        return Post.from(row);
+    }
+
+    @Benchmark
+    public PostResponse toResponse() {
+        return PostResponse.fromWithWriter(post);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postResponse);
+    }
+
+    @Benchmark
+    public byte[] toResponseAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PostResponse.fromWithWriter(post));
+    }
+}
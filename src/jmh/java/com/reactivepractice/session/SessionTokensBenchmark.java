@@ -0,0 +1,40 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.user.handler.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionTokensBenchmark {
+
+    private SessionTokens sessionTokens;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        sessionTokens = SessionTokens.of(new byte[32], Duration.ofMinutes(30),
+                TokenRevocations.of(100_000, 0.01), new SimpleMeterRegistry());
+        token = sessionTokens.issue(UserResponse.builder()
+                .id(1L)
+                .email("test@test.com")
+                .name("test")
+                .build());
+    }
+
+    @Benchmark
+    public Optional<SessionToken> verify() {
+        return sessionTokens.verify(token);
+    }
+}
@@ -0,0 +1,92 @@
+package com.reactivepractice.loadtest;
+
+import com.reactivepractice.common.PasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder {
+
+    public static final String PASSWORD = "password1234";
+
+    private static final int CONCURRENCY = 16;
+
+    private final DatabaseClient databaseClient;
+    private final PasswordEncoder passwordEncoder;
+
+    public SeedData seed(LoadTestProperties properties) {
+        long start = System.nanoTime();
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        List<Long> userIds = Flux.range(1, properties.getUsers())
+                .flatMapSequential(i -> insertUser(email(i), encodedPassword), CONCURRENCY)
+                .collectList()
+                .block();
+
+        List<Long> postIds = Flux.fromIterable(userIds)
+                .flatMap(userId -> Flux.range(1, properties.getPostsPerUser())
+                        .concatMap(i -> insertPost(userId, i)), CONCURRENCY)
+                .collectList()
+                .block();
+
+        Long comments = Flux.fromIterable(postIds)
+                .flatMap(postId -> Flux.range(1, properties.getCommentsPerPost())
+                        .concatMap(i -> insertComment(randomOf(userIds), postId, i)), CONCURRENCY)
+                .count()
+                .block();
+
+        log.info("seeded {} users, {} posts, {} comments in {}ms",
+                userIds.size(), postIds.size(), comments, (System.nanoTime() - start) / 1_000_000);
+        return new SeedData(
+                IntStream.rangeClosed(1, properties.getUsers()).mapToObj(DataSeeder::email).toList(),
+                postIds);
+    }
+
+    private Mono<Long> insertUser(String email, String encodedPassword) {
+        return databaseClient.sql("INSERT INTO users (email, password, name) VALUES (:email, :password, :name)")
+                .bind("email", email)
+                .bind("password", encodedPassword)
+                .bind("name", email.substring(0, email.indexOf('@')))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    private Mono<Long> insertPost(Long userId, int index) {
+        return databaseClient.sql("INSERT INTO posts (user_id, title, contents) VALUES (:userId, :title, :contents)")
+                .bind("userId", userId)
+                .bind("title", "title " + index)
+                .bind("contents", "contents ".repeat(20))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    private Mono<Long> insertComment(Long userId, Long postId, int index) {
+        return databaseClient.sql("INSERT INTO comments (user_id, post_id, contents) VALUES (:userId, :postId, :contents)")
+                .bind("userId", userId)
+                .bind("postId", postId)
+                .bind("contents", "comment " + index)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    static String email(int index) {
+        return "load" + index + "@test.com";
+    }
+
+    private static <T> T randomOf(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    public record SeedData(List<String> emails, List<Long> postIds) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.reactivepractice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    public LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(Operation operation, long elapsedNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(micros);
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        out.printf("%-20s %10s %10s %10s %10s %10s %10s %8s%n",
+                "route", "count", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            if (count == 0) {
+                continue;
+            }
+            out.printf("%-20s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    operation.route(),
+                    count,
+                    count / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    errors.get(operation).sum());
+        }
+        out.printf("total %d requests in %.1fs (%.1f req/s), dropped %d%n",
+                total, seconds, total / seconds, dropped.sum());
+    }
+
+    private double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
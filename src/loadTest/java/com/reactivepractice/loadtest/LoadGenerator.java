@@ -0,0 +1,170 @@
+package com.reactivepractice.loadtest;
+
+import com.reactivepractice.comment.domain.CommentRequest;
+import com.reactivepractice.post.doamin.PostRequest;
+import com.reactivepractice.user.handler.request.LoginRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@Slf4j
+public class LoadGenerator {
+
+    private static final String SESSION_COOKIE = "SESSION";
+
+    private final WebClient webClient;
+    private final LoadTestProperties properties;
+    private final DataSeeder.SeedData seedData;
+    private final List<VirtualUser> virtualUsers;
+    private final Operation[] operationTable;
+
+    public LoadGenerator(WebClient webClient, LoadTestProperties properties, DataSeeder.SeedData seedData) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.seedData = seedData;
+        this.virtualUsers = seedData.emails().stream().map(VirtualUser::new).toList();
+        this.operationTable = operationTable(properties.getWeights());
+    }
+
+    public void loginAll() {
+        Flux.fromIterable(virtualUsers)
+                .flatMap(this::login, properties.getConcurrency())
+                .blockLast();
+    }
+
+    public void run(Duration duration, LatencyRecorder recorder) {
+        switch (properties.getMode()) {
+            case CLOSED -> runClosedLoop(duration, recorder);
+            case OPEN -> runOpenLoop(duration, recorder);
+        }
+    }
+
+    private void runClosedLoop(Duration duration, LatencyRecorder recorder) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, properties.getConcurrency())
+                .flatMap(worker -> Mono.defer(() -> execute(nextOperation(), nextUser(), System.nanoTime(), recorder))
+                        .repeat(() -> System.nanoTime() < deadline)
+                        .then(), properties.getConcurrency())
+                .blockLast();
+    }
+
+    // 요청 시각을 스케줄 기준으로 잡아 서버가 밀릴 때의 대기 시간도 지연에 포함한다.
+    private void runOpenLoop(Duration duration, LatencyRecorder recorder) {
+        long periodNanos = 1_000_000_000L / properties.getRatePerSecond();
+        long start = System.nanoTime();
+        Flux.interval(Duration.ZERO, Duration.ofNanos(periodNanos))
+                .take(duration)
+                .onBackpressureDrop(tick -> recorder.dropped())
+                .flatMap(tick -> execute(nextOperation(), nextUser(), start + tick * periodNanos, recorder),
+                        properties.getMaxInFlight())
+                .blockLast();
+    }
+
+    private Mono<Void> execute(Operation operation, VirtualUser user, long intendedStart, LatencyRecorder recorder) {
+        return request(operation, user)
+                .onErrorResume(throwable -> {
+                    log.debug("{} failed", operation.route(), throwable);
+                    return Mono.just(false);
+                })
+                .doOnNext(success -> recorder.record(operation, System.nanoTime() - intendedStart, success))
+                .then();
+    }
+
+    private Mono<Boolean> request(Operation operation, VirtualUser user) {
+        return switch (operation) {
+            case LOGIN -> login(user);
+            case CREATE_POST -> webClient.post()
+                    .uri("/posts")
+                    .cookie(SESSION_COOKIE, user.session)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(PostRequest.builder()
+                            .title("load test")
+                            .contents("load test contents")
+                            .build())
+                    .exchangeToMono(this::isSuccess);
+            case READ_POST -> webClient.get()
+                    .uri("/posts/{id}", randomPostId())
+                    .cookie(SESSION_COOKIE, user.session)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(this::isSuccess);
+            case LIST_POSTS -> webClient.get()
+                    .uri("/posts?limit=20")
+                    .cookie(SESSION_COOKIE, user.session)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(this::isSuccess);
+            case WRITE_COMMENT -> webClient.post()
+                    .uri("/comments")
+                    .cookie(SESSION_COOKIE, user.session)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(CommentRequest.builder()
+                            .postId(randomPostId())
+                            .comment("load test comment")
+                            .build())
+                    .exchangeToMono(this::isSuccess);
+        };
+    }
+
+    private Mono<Boolean> login(VirtualUser user) {
+        return webClient.post()
+                .uri("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(LoginRequest.builder()
+                        .email(user.email)
+                        .password(DataSeeder.PASSWORD)
+                        .build())
+                .exchangeToMono(response -> {
+                    HttpCookie cookie = response.cookies().getFirst(SESSION_COOKIE);
+                    if (cookie != null) {
+                        user.session = cookie.getValue();
+                    }
+                    return isSuccess(response);
+                });
+    }
+
+    private Mono<Boolean> isSuccess(ClientResponse response) {
+        return response.releaseBody()
+                .thenReturn(response.statusCode().is2xxSuccessful());
+    }
+
+    private Operation nextOperation() {
+        return operationTable[ThreadLocalRandom.current().nextInt(operationTable.length)];
+    }
+
+    private VirtualUser nextUser() {
+        return virtualUsers.get(ThreadLocalRandom.current().nextInt(virtualUsers.size()));
+    }
+
+    private Long randomPostId() {
+        List<Long> postIds = seedData.postIds();
+        return postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+    }
+
+    private static Operation[] operationTable(Map<Operation, Integer> weights) {
+        return weights.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+
+    private static class VirtualUser {
+
+        private final String email;
+        private volatile String session = "";
+
+        private VirtualUser(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.reactivepractice.loadtest;
+
+import com.reactivepractice.ReactivePracticeApplication;
+import com.reactivepractice.common.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        LoadTestProperties properties = LoadTestProperties.fromSystemProperties();
+        log.info("load test {}", properties);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactivePracticeApplication.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.org.springframework.r2dbc=info")
+                .run(args)) {
+            int port = ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+
+            DataSeeder.SeedData seedData = new DataSeeder(
+                    context.getBean(DatabaseClient.class),
+                    context.getBean(PasswordEncoder.class))
+                    .seed(properties);
+
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(webClient, properties, seedData);
+            generator.loginAll();
+
+            if (!properties.getWarmup().isZero()) {
+                log.info("warming up for {}", properties.getWarmup());
+                generator.run(properties.getWarmup(), new LatencyRecorder());
+            }
+
+            log.info("running {} loop for {}", properties.getMode(), properties.getDuration());
+            LatencyRecorder recorder = new LatencyRecorder();
+            long start = System.nanoTime();
+            generator.run(properties.getDuration(), recorder);
+            recorder.print(System.out, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
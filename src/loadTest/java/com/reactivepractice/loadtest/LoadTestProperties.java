@@ -0,0 +1,53 @@
+package com.reactivepractice.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Builder
+@ToString
+public class LoadTestProperties {
+
+    private static final String PREFIX = "loadtest.";
+
+    public enum Mode { CLOSED, OPEN }
+
+    private final int users;
+    private final int postsPerUser;
+    private final int commentsPerPost;
+    private final Mode mode;
+    private final int concurrency;
+    private final int ratePerSecond;
+    private final int maxInFlight;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> weights;
+
+    public static LoadTestProperties fromSystemProperties() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, intProperty("weight." + operation.key(), operation.defaultWeight()));
+        }
+        return LoadTestProperties.builder()
+                .users(intProperty("users", 200))
+                .postsPerUser(intProperty("posts-per-user", 5))
+                .commentsPerPost(intProperty("comments-per-post", 10))
+                .mode(Mode.valueOf(System.getProperty(PREFIX + "mode", "closed").toUpperCase()))
+                .concurrency(intProperty("concurrency", 64))
+                .ratePerSecond(intProperty("rate", 500))
+                .maxInFlight(intProperty("max-in-flight", 1024))
+                .warmup(Duration.parse(System.getProperty(PREFIX + "warmup", "PT10S")))
+                .duration(Duration.parse(System.getProperty(PREFIX + "duration", "PT30S")))
+                .weights(weights)
+                .build();
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(PREFIX + name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.reactivepractice.loadtest;
+
+public enum Operation {
+
+    LOGIN("login", "POST /users/login", 5),
+    CREATE_POST("create-post", "POST /posts", 10),
+    READ_POST("read-post", "GET /posts/{id}", 40),
+    LIST_POSTS("list-posts", "GET /posts", 30),
+    WRITE_COMMENT("write-comment", "POST /comments", 15);
+
+    private final String key;
+    private final String route;
+    private final int defaultWeight;
+
+    Operation(String key, String route, int defaultWeight) {
+        this.key = key;
+        this.route = route;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String route() {
+        return route;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -17,6 +17,7 @@ public class Comment {
     private String contents;
     private User writer;
     private Post post;
+    private Long version;
 
     public static Comment from(CommentRequest request, User user, Post post) {
         return Comment.builder()
@@ -24,6 +25,7 @@ public class Comment {
                 .writer(user)
                 .post(post)
                 .contents(request.getComment())
+                .version(request.getVersion())
                 .build();
     }
 
@@ -42,6 +44,7 @@ public class Comment {
                 .writer(user)
                 .contents(contents)
                 .post(post)
+                .version(version)
                 .build();
     }
 
@@ -51,6 +54,7 @@ public class Comment {
                 .writer(user)
                 .post(post)
                 .contents(comment.getContents())
+                .version(comment.getVersion())
                 .build();
     }
 
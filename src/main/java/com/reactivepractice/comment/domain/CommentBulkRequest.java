@@ -0,0 +1,23 @@
+package com.reactivepractice.comment.domain;
+
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.user.domain.User;
+import lombok.*;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CommentBulkRequest {
+    private Long postId;
+    private String comment;
+
+    public Comment toModel(User user) {
+        return Comment.builder()
+                .writer(user)
+                .post(Post.builder().id(postId).build())
+                .contents(comment)
+                .build();
+    }
+}
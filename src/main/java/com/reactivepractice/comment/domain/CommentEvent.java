@@ -0,0 +1,49 @@
+package com.reactivepractice.comment.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 피드로 나가는 최소 이벤트. UPDATE/DELETE 결과에는 id 만 채워진 작성자가 오기 때문에
+// 댓글 전체 대신 id 들과 내용, 버전만 담는다. 삭제 이벤트는 contents 가 없다.
+@Getter
+@AllArgsConstructor
+@ToString
+public class CommentEvent {
+
+    public enum Type {
+        CREATED, MODIFIED, DELETED
+    }
+
+    private final Type type;
+    private final long sequence;
+    private final Long commentId;
+    private final Long postId;
+    private final Long writerId;
+    private final String contents;
+    private final Long version;
+
+    public static CommentEvent created(Comment comment) {
+        return of(Type.CREATED, comment, comment.getContents());
+    }
+
+    public static CommentEvent modified(Comment comment) {
+        return of(Type.MODIFIED, comment, comment.getContents());
+    }
+
+    public static CommentEvent deleted(Comment comment) {
+        return of(Type.DELETED, comment, null);
+    }
+
+    // 피드가 발행 순서대로 번호를 붙인다. SSE id 로 쓰여서 Last-Event-ID 로 이어받을 수 있다.
+    public CommentEvent withSequence(long sequence) {
+        return new CommentEvent(type, sequence, commentId, postId, writerId, contents, version);
+    }
+
+    private static CommentEvent of(Type type, Comment comment, String contents) {
+        return new CommentEvent(type, 0L, comment.getId(),
+                comment.getPost() != null ? comment.getPost().getId() : null,
+                comment.getWriter() != null ? comment.getWriter().getId() : null,
+                contents, comment.getVersion());
+    }
+}
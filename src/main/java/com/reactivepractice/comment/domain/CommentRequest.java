@@ -11,4 +11,5 @@ public class CommentRequest {
     private Long id;
     private Long postId;
     private String comment;
+    private Long version;
 }
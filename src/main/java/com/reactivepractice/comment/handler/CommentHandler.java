@@ -1,14 +1,23 @@
 package com.reactivepractice.comment.handler;
 
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.domain.CommentBulkRequest;
 import com.reactivepractice.comment.domain.CommentRequest;
 import com.reactivepractice.comment.handler.port.CommentService;
+import com.reactivepractice.comment.handler.response.CommentEventResponse;
 import com.reactivepractice.comment.handler.response.CommentResponse;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.ETags;
 import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.common.StreamResponses;
 import com.reactivepractice.exception.model.BadRequestException;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -32,30 +41,80 @@ public class CommentHandler {
                         .body(BodyInserters.fromValue(CommentResponse.from(c))));
     }
 
+    public Mono<ServerResponse> registerAll(ServerRequest request) {
+        return SessionUtils.getLoginUser(request)
+                .flatMap(user -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(commentService.registerAll(request.bodyToFlux(CommentBulkRequest.class), user.getId()), BulkResult.class));
+    }
+
     public Mono<ServerResponse> getComment(ServerRequest request) {
         return SessionUtils.getLoginUser(request)
                 .flatMap(user -> Mono.just(request.pathVariable("id"))
                         .map(Long::parseLong)
                         .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException()))
-                        .flatMap(commentService::getComment)
-                        .flatMap(comment -> ServerResponse.ok().body(BodyInserters.fromValue(CommentResponse.from(comment)))));
+                        .flatMap(commentId -> commentService.getCommentRevision(commentId)
+                                .map(revision -> ETags.of("comment", commentId, revision))
+                                .flatMap(eTag -> ETags.isNotModified(request, eTag)
+                                        ? ETags.notModified(eTag)
+                                        : commentService.getComment(commentId)
+                                                .flatMap(comment -> ServerResponse.ok().eTag(eTag)
+                                                        .body(BodyInserters.fromValue(CommentResponse.from(comment)))))));
     }
 
     public Mono<ServerResponse> getCommentsByPostId(ServerRequest request) {
         return SessionUtils.getLoginUser(request)
                 .flatMap(user -> request.queryParam("postId")
                         .filter(postId -> !postId.isEmpty())
-                        .map(postId -> ServerResponse.ok()
-                                        .body(commentService.getCommentList(Long.parseLong(postId))
-                                                .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException()))
-                                                .map(CommentResponse::fromWithoutPost), CommentResponse.class))
-                        .orElseGet(() -> Mono.error(new BadRequestException())));
+                        .map(postId -> CursorRequest.from(request)
+                                .flatMap(cursor -> commentService.getCommentList(Long.parseLong(postId), cursor)))
+                        .orElseGet(() -> Mono.error(new BadRequestException())))
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(page.map(CommentResponse::fromWithoutPost))));
+    }
+
+    public Mono<ServerResponse> streamCommentsByPostId(ServerRequest request) {
+        return SessionUtils.getLoginUser(request)
+                .flatMap(user -> Mono.zip(postIdOf(request), StreamResponses.after(request)))
+                .flatMap(query -> StreamResponses.ndjson(commentService.streamComments(query.getT1(), query.getT2()),
+                        CommentResponse::fromWithoutPost, CommentResponse.class));
+    }
+
+    public Mono<ServerResponse> streamCommentEventsByPostId(ServerRequest request) {
+        return SessionUtils.getLoginUser(request)
+                .flatMap(user -> Mono.zip(postIdOf(request), StreamResponses.after(request)))
+                .flatMap(query -> StreamResponses.events(commentService.streamComments(query.getT1(), query.getT2()),
+                        Comment::getId, CommentResponse::fromWithoutPost));
+    }
+
+    // 구독 중에 들어온 등록/수정/삭제만 보낸다. 이전 댓글은 GET /comments 로 먼저 받는다.
+    public Mono<ServerResponse> streamFeed(ServerRequest request) {
+        return SessionUtils.getLoginUser(request)
+                .flatMap(user -> Mono.just(request.pathVariable("id"))
+                        .map(Long::parseLong)
+                        .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException())))
+                .flatMap(postId -> ServerResponse.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(commentService.subscribeFeed(postId)
+                                .map(event -> ServerSentEvent.builder(CommentEventResponse.from(event))
+                                        .event(event.getType().name())
+                                        .id(String.valueOf(event.getSequence()))
+                                        .build()), ServerSentEvent.class));
+    }
+
+    private Mono<Long> postIdOf(ServerRequest request) {
+        return request.queryParam("postId")
+                .filter(postId -> !postId.isEmpty())
+                .map(postId -> Mono.fromCallable(() -> Long.parseLong(postId))
+                        .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException())))
+                .orElseGet(() -> Mono.error(new BadRequestException()));
     }
 
     public Mono<ServerResponse> modify(ServerRequest request) {
         return SessionUtils.getLoginUser(request)
                 .flatMap(user -> request.bodyToMono(CommentRequest.class)
-                        .flatMap(cr -> commentService.modify(cr, user.getId())))
+                        .flatMap(cr -> commentService.modify(cr, user.getId()))
+                        .map(c -> c.from(user.toModel())))
                 .flatMap(c -> ServerResponse
                         .status(HttpStatus.OK)
                         .body(BodyInserters.fromValue(CommentResponse.fromWithoutPost(c))));
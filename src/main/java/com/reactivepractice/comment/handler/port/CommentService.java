@@ -1,14 +1,23 @@
 package com.reactivepractice.comment.handler.port;
 
 import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.domain.CommentBulkRequest;
+import com.reactivepractice.comment.domain.CommentEvent;
 import com.reactivepractice.comment.domain.CommentRequest;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface CommentService {
     Mono<Comment> register(CommentRequest request, Long userId);
+    Flux<BulkResult> registerAll(Flux<CommentBulkRequest> requests, Long userId);
     Mono<Comment> getComment(Long id);
-    Flux<Comment> getCommentList(Long postId);
+    Mono<String> getCommentRevision(Long id);
+    Mono<CursorPage<Comment>> getCommentList(Long postId, CursorRequest cursorRequest);
+    Flux<Comment> streamComments(Long postId, long afterId);
+    Flux<CommentEvent> subscribeFeed(Long postId);
     Mono<Comment> modify(CommentRequest request, Long userId);
     Mono<Void> delete(Long commentId, Long userId);
 }
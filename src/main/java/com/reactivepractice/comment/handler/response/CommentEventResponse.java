@@ -0,0 +1,29 @@
+package com.reactivepractice.comment.handler.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reactivepractice.comment.domain.CommentEvent;
+import lombok.*;
+
+@Builder
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommentEventResponse {
+    private Long id;
+    private Long postId;
+    private Long writerId;
+    private String content;
+    private Long version;
+
+    public static CommentEventResponse from(CommentEvent event) {
+        return CommentEventResponse.builder()
+                .id(event.getCommentId())
+                .postId(event.getPostId())
+                .writerId(event.getWriterId())
+                .content(event.getContents())
+                .version(event.getVersion())
+                .build();
+    }
+}
@@ -17,12 +17,14 @@ public class CommentResponse {
     private String content;
     private UserResponse writer;
     private PostResponse post;
+    private Long version;
 
     public static CommentResponse from(Comment comment) {
         return CommentResponse.builder()
                 .id(comment.getId())
                 .content(comment.getContents())
                 .writer(UserResponse.of(comment.getWriter()))
+                .version(comment.getVersion())
                 .post(PostResponse.fromWithoutWriter(comment.getPost()))
                 .build();
     }
@@ -32,6 +34,7 @@ public class CommentResponse {
                 .id(comment.getId())
                 .content(comment.getContents())
                 .writer(UserResponse.of(comment.getWriter()))
+                .version(comment.getVersion())
                 .build();
     }
 
@@ -5,6 +5,7 @@ import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.user.domain.User;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Table("comments")
@@ -19,6 +20,8 @@ public class CommentEntity {
     private Long postId;
     private Long userId;
     private String contents;
+    @Version
+    private Long version;
 
     public static CommentEntity from(Comment comment) {
         return CommentEntity.builder()
@@ -26,6 +29,7 @@ public class CommentEntity {
                 .postId(comment.getPost().getId())
                 .userId(comment.getWriter().getId())
                 .contents(comment.getContents())
+                .version(comment.getId() == null ? null : comment.getVersion())
                 .build();
     }
 
@@ -35,6 +39,7 @@ public class CommentEntity {
                 .post(Post.builder().id(postId).build())
                 .writer(User.builder().id(userId).build())
                 .contents(contents)
+                .version(version)
                 .build();
     }
 }
@@ -1,6 +1,13 @@
 package com.reactivepractice.comment.infrastructure;
 
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
 
 public interface CommentReactiveRepository extends ReactiveCrudRepository<CommentEntity, Long> {
+
+    @Modifying
+    @Query("UPDATE comments SET post_id = :postId, user_id = :userId, contents = :contents, version = version + 1 WHERE id = :id")
+    Mono<Long> update(Long id, Long postId, Long userId, String contents);
 }
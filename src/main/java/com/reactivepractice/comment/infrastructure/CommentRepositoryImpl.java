@@ -2,52 +2,209 @@ package com.reactivepractice.comment.infrastructure;
 
 import com.reactivepractice.comment.domain.Comment;
 import com.reactivepractice.comment.service.port.CommentRepository;
+import com.reactivepractice.common.HotQuery;
+import com.reactivepractice.common.HotQuerySource;
+import com.reactivepractice.common.KeysetStream;
+import com.reactivepractice.common.RepositoryMetrics;
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.user.domain.User;
+import io.r2dbc.spi.Statement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 @Repository
 @RequiredArgsConstructor
-public class CommentRepositoryImpl implements CommentRepository {
+public class CommentRepositoryImpl implements CommentRepository, HotQuerySource {
+
+    private static final String FIND_BY_ID_SQL = "SELECT c.*, u.id, u.name, u.email, p.id, p.title " +
+            "FROM comments c " +
+            "JOIN users u ON c.user_id = u.id " +
+            "JOIN posts p ON c.post_id = p.id " +
+            "WHERE c.id = :id";
+
+    private static final String FIND_BY_POST_ID_SQL = "SELECT c.*, u.id, u.name, u.email " +
+            "FROM comments c " +
+            "JOIN users u ON c.user_id = u.id " +
+            "WHERE c.post_id = :postId AND c.id > :afterId " +
+            "ORDER BY c.id " +
+            "LIMIT :limit";
+
+    private static final String FIND_REVISION_SQL = "SELECT c.version AS comment_version, u.version AS writer_version, p.version AS post_version " +
+            "FROM comments c " +
+            "JOIN users u ON c.user_id = u.id " +
+            "JOIN posts p ON c.post_id = p.id " +
+            "WHERE c.id = :id";
+
+    private static final String FIND_OWNERSHIP_SQL = "SELECT id, post_id, user_id, version FROM comments WHERE id = :id";
+
+    // FINAL TABLE 로 갱신된 행을 같은 문장에서 돌려받는다. 0건이면 없거나, 작성자가 다르거나, 버전이 다르다.
+    private static final String UPDATE_SQL = "SELECT id, post_id, user_id, contents, version FROM FINAL TABLE (" +
+            "UPDATE comments SET contents = :contents, version = version + 1 " +
+            "WHERE id = :id AND user_id = :userId)";
+
+    private static final String UPDATE_VERSIONED_SQL = "SELECT id, post_id, user_id, contents, version FROM FINAL TABLE (" +
+            "UPDATE comments SET contents = :contents, version = version + 1 " +
+            "WHERE id = :id AND user_id = :userId AND version = :version)";
+
+    private static final String INSERT_SQL = "INSERT INTO comments (post_id, user_id, contents) VALUES ($1, $2, $3)";
+
+    // OLD TABLE 로 지운 행을 같은 문장에서 돌려받는다. 0건이면 없거나 작성자가 다르다.
+    private static final String DELETE_OWNED_SQL = "SELECT id, post_id, user_id FROM OLD TABLE (" +
+            "DELETE FROM comments WHERE id = :id AND user_id = :userId)";
 
     private final CommentReactiveRepository commentReactiveRepository;
     private final DatabaseClient databaseClient;
+    private final RepositoryMetrics repositoryMetrics;
+    private final TransactionalOperator transactionalOperator;
+    private final KeysetStream keysetStream;
 
     @Override
     public Mono<Comment> save(Comment comment) {
-        return commentReactiveRepository.save(CommentEntity.from(comment))
-                .flatMap(c -> Mono.just(c.toModel()));
+        CommentEntity entity = CommentEntity.from(comment);
+        if (entity.getId() == null) {
+            return repositoryMetrics.timed("comment", "insert",
+                    commentReactiveRepository.save(entity)
+                            .flatMap(c -> Mono.just(c.toModel())));
+        }
+        return repositoryMetrics.timed("comment", "update",
+                commentReactiveRepository.update(entity.getId(), entity.getPostId(), entity.getUserId(), entity.getContents())
+                        .filter(rows -> rows > 0)
+                        .map(rows -> entity.toModel()));
+    }
+
+    // Statement.add 로 한 번에 보내고, 중간에 실패하면 묶음 전체를 롤백한다.
+    @Override
+    public Flux<Comment> saveAll(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return Flux.empty();
+        }
+        Flux<Comment> saved = databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_SQL).returnGeneratedValues("id");
+                    for (int i = 0; i < comments.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Comment comment = comments.get(i);
+                        statement.bind(0, comment.getPost().getId())
+                                .bind(1, comment.getWriter().getId())
+                                .bind(2, comment.getContents());
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)));
+                })
+                .zipWithIterable(comments, (id, comment) -> Comment.builder()
+                        .id(id)
+                        .writer(comment.getWriter())
+                        .post(comment.getPost())
+                        .contents(comment.getContents())
+                        .version(0L)
+                        .build());
+        return repositoryMetrics.timed("comment", "saveAll", transactionalOperator.transactional(saved));
     }
 
     @Override
     public Mono<Comment> findById(Long id) {
-        String sql = "SELECT c.*, u.id, u.name, u.email, p.id, p.title " +
-                "FROM comments c " +
-                "JOIN users u ON c.user_id = u.id " +
-                "JOIN posts p ON c.post_id = p.id " +
-                "WHERE c.id = :id";
-        return databaseClient.sql(sql)
-                .bind("id", id)
-                .map(Comment::fromWithPost)
-                .one();
+        return repositoryMetrics.timed("comment", "findById",
+                databaseClient.sql(FIND_BY_ID_SQL)
+                        .bind("id", id)
+                        .map(Comment::fromWithPost)
+                        .one());
+    }
+
+    @Override
+    public Mono<String> findRevision(Long id) {
+        return repositoryMetrics.timed("comment", "findRevision",
+                databaseClient.sql(FIND_REVISION_SQL)
+                        .bind("id", id)
+                        .map(row -> String.join(".",
+                                String.valueOf(row.get("comment_version")),
+                                String.valueOf(row.get("writer_version")),
+                                String.valueOf(row.get("post_version"))))
+                        .one());
     }
 
     @Override
-    public Flux<Comment> findByPostId(Long postId) {
-        String sql = "SELECT c.*, u.id, u.name, u.email " +
-                "FROM comments c " +
-                "JOIN users u ON c.user_id = u.id " +
-                "WHERE c.post_id = :postId";
-        return databaseClient.sql(sql)
-                .bind("postId", postId)
-                .map(Comment::fromWithoutPost)
-                .all();
+    public Mono<Comment> findOwnership(Long id) {
+        return repositoryMetrics.timed("comment", "findOwnership",
+                databaseClient.sql(FIND_OWNERSHIP_SQL)
+                        .bind("id", id)
+                        .map(row -> Comment.builder()
+                                .id(row.get("id", Long.class))
+                                .post(Post.builder().id(row.get("post_id", Long.class)).build())
+                                .writer(User.builder().id(row.get("user_id", Long.class)).build())
+                                .version(row.get("version", Long.class))
+                                .build())
+                        .one());
+    }
+
+    @Override
+    public Mono<Comment> update(Comment comment) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(comment.getVersion() == null ? UPDATE_SQL : UPDATE_VERSIONED_SQL)
+                .bind("id", comment.getId())
+                .bind("userId", comment.getWriter().getId())
+                .bind("contents", comment.getContents());
+        if (comment.getVersion() != null) {
+            spec = spec.bind("version", comment.getVersion());
+        }
+        return repositoryMetrics.timed("comment", "update",
+                spec.map(row -> Comment.builder()
+                                .id(row.get("id", Long.class))
+                                .post(Post.builder().id(row.get("post_id", Long.class)).build())
+                                .writer(User.builder().id(row.get("user_id", Long.class)).build())
+                                .contents(row.get("contents", String.class))
+                                .version(row.get("version", Long.class))
+                                .build())
+                        .one());
+    }
+
+    @Override
+    public Flux<Comment> findByPostId(Long postId, long afterId, int limit) {
+        return repositoryMetrics.timed("comment", "findByPostId",
+                databaseClient.sql(FIND_BY_POST_ID_SQL)
+                        .bind("postId", postId)
+                        .bind("afterId", afterId)
+                        .bind("limit", limit)
+                        .map(Comment::fromWithoutPost)
+                        .all());
+    }
+
+    @Override
+    public Flux<Comment> streamByPostId(Long postId, long afterId) {
+        return keysetStream.stream(afterId, (after, limit) -> findByPostId(postId, after, limit), Comment::getId);
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
-        return commentReactiveRepository.deleteById(id);
+        return repositoryMetrics.timed("comment", "deleteById", commentReactiveRepository.deleteById(id));
+    }
+
+    @Override
+    public Mono<Comment> deleteOwned(Long id, Long userId) {
+        return repositoryMetrics.timed("comment", "deleteOwned",
+                databaseClient.sql(DELETE_OWNED_SQL)
+                        .bind("id", id)
+                        .bind("userId", userId)
+                        .map(row -> Comment.builder()
+                                .id(row.get("id", Long.class))
+                                .post(Post.builder().id(row.get("post_id", Long.class)).build())
+                                .writer(User.builder().id(row.get("user_id", Long.class)).build())
+                                .build())
+                        .one());
+    }
+
+    @Override
+    public List<HotQuery> hotQueries() {
+        return List.of(
+                HotQuery.of("comment.findById", FIND_BY_ID_SQL, Map.of("id", 1L)),
+                HotQuery.of("comment.findRevision", FIND_REVISION_SQL, Map.of("id", 1L)),
+                HotQuery.of("comment.findOwnership", FIND_OWNERSHIP_SQL, Map.of("id", 1L)),
+                HotQuery.of("comment.findByPostId", FIND_BY_POST_ID_SQL, Map.of("postId", 1L, "afterId", 0L, "limit", 21)));
     }
 }
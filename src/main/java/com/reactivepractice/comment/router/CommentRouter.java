@@ -1,24 +1,28 @@
 package com.reactivepractice.comment.router;
 
 import com.reactivepractice.comment.handler.CommentHandler;
+import com.reactivepractice.common.RouteMetricsFilter;
+import com.reactivepractice.exception.handler.ExceptionHandler;
 import com.reactivepractice.exception.model.CustomBaseException;
-import com.reactivepractice.exception.model.ErrorResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
-import reactor.core.publisher.Mono;
 
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 
 @Configuration(proxyBeanMethods = false)
+@RequiredArgsConstructor
 @Slf4j
 public class CommentRouter {
 
+    private final ExceptionHandler exceptionHandler;
+    private final RouteMetricsFilter routeMetricsFilter;
+
     @Bean
     public RouterFunction<ServerResponse> routeComments(CommentHandler commentHandler){
         return RouterFunctions.route()
@@ -29,19 +33,17 @@ public class CommentRouter {
                         .PATCH("", commentHandler::modify)
                         .GET("/{id}", commentHandler::getComment)
                         .DELETE("/{id}", commentHandler::delete))
+                        .nest(accept(MediaType.APPLICATION_NDJSON), builder2 -> builder2
+                        .POST("/bulk", commentHandler::registerAll)
+                        .GET("", commentHandler::streamCommentsByPostId))
+                        .nest(accept(MediaType.TEXT_EVENT_STREAM), builder2 -> builder2
+                        .GET("", commentHandler::streamCommentEventsByPostId))
                 )
+                .GET("/posts/{id}/comments/stream", accept(MediaType.TEXT_EVENT_STREAM), commentHandler::streamFeed)
+                .filter(routeMetricsFilter)
                 .filter((request, next) -> next.handle(request)
-                        .onErrorResume(CustomBaseException.class, this::handleGlobalException))
+                        .onErrorResume(CustomBaseException.class, exceptionHandler::handleGlobalException))
                 .build();
     }
 
-    private Mono<ServerResponse> handleGlobalException(CustomBaseException ex) {
-        log.error("Global exception", ex);
-        ErrorResponse errorResponse = ErrorResponse.of(ex.getErrorCode());
-
-        return ServerResponse.status(ex.getErrorCode().getHttpStatus())
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(errorResponse));
-    }
-
 }
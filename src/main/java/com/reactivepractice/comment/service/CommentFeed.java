@@ -0,0 +1,96 @@
+package com.reactivepractice.comment.service;
+
+import com.reactivepractice.comment.domain.CommentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CommentFeed {
+
+    private final ConcurrentMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int bufferSize;
+    private final Counter published;
+    private final Counter dropped;
+
+    private CommentFeed(int bufferSize, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.published = Counter.builder("comment.feed.published").register(meterRegistry);
+        this.dropped = Counter.builder("comment.feed.dropped").register(meterRegistry);
+        Gauge.builder("comment.feed.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("comment.feed.topics", topics, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    public static CommentFeed of(int bufferSize, MeterRegistry meterRegistry) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        return new CommentFeed(bufferSize, meterRegistry);
+    }
+
+    // 구독자마다 bufferSize 만큼 따로 버퍼를 두고, 넘치면 오래된 이벤트부터 버린다.
+    // 느린 구독자 하나가 같은 게시글의 다른 구독자를 막지 않는다.
+    public Flux<CommentEvent> subscribe(Long postId) {
+        return Flux.defer(() -> {
+            Topic topic = topics.compute(postId, (id, current) -> {
+                Topic target = current != null ? current : new Topic();
+                target.subscribers++;
+                return target;
+            });
+            subscribers.incrementAndGet();
+            return topic.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> leave(postId, topic));
+        });
+    }
+
+    // 번호는 피드 전체에서 하나씩 늘린다. topic 잠금 안에서 붙이므로 같은 게시글에서는 발행 순서와 같고,
+    // topic 이 지워졌다 다시 생겨도 되돌아가지 않는다.
+    public void publish(Long postId, CommentEvent event) {
+        if (postId == null) {
+            return;
+        }
+        Topic topic = topics.get(postId);
+        if (topic == null) {
+            return;
+        }
+        synchronized (topic) {
+            topic.sink.tryEmitNext(event.withSequence(sequence.incrementAndGet()));
+        }
+        published.increment();
+    }
+
+    // 마지막 구독자가 나가면 게시글 topic 을 지워서 구독자 없는 sink 가 쌓이지 않게 한다.
+    private void leave(Long postId, Topic topic) {
+        subscribers.decrementAndGet();
+        topics.computeIfPresent(postId, (id, current) -> {
+            if (current != topic) {
+                return current;
+            }
+            current.subscribers--;
+            return current.subscribers > 0 ? current : null;
+        });
+    }
+
+    public int topicCount() {
+        return topics.size();
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    private static class Topic {
+        private final Sinks.Many<CommentEvent> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+}
@@ -1,31 +1,54 @@
 package com.reactivepractice.comment.service;
 
 import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.domain.CommentBulkRequest;
+import com.reactivepractice.comment.domain.CommentEvent;
 import com.reactivepractice.comment.domain.CommentRequest;
 import com.reactivepractice.comment.handler.port.CommentService;
 import com.reactivepractice.comment.service.port.CommentRepository;
+import com.reactivepractice.common.BulkChunker;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.exception.model.ConflictException;
 import com.reactivepractice.exception.model.ErrorCode;
 import com.reactivepractice.exception.model.ForbiddenException;
 import com.reactivepractice.exception.model.NotFoundException;
-import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.post.doamin.PostRequest;
+import com.reactivepractice.post.service.PostAggregateCache;
 import com.reactivepractice.post.service.port.PostRepository;
+import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.service.port.UserRepository;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Builder
+@Slf4j
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostAggregateCache postCache;
+    private final BulkChunker bulkChunker;
+    private final CommentFeed commentFeed;
 
     @Override
     public Mono<Comment> register(CommentRequest request, Long userId) {
@@ -33,11 +56,57 @@ public class CommentServiceImpl implements CommentService {
                 .flatMap(user ->
                     postRepository.findById(request.getPostId())
                             .flatMap(post -> commentRepository.save(Comment.from(request, user, post))
-                                    .map(comment -> Comment.from(comment, user, post)))
+                                    .doOnTerminate(() -> postCache.invalidate(post.getId()))
+                                    .map(comment -> Comment.from(comment, user, post))
+                                    .doOnNext(comment -> commentFeed.publish(post.getId(), CommentEvent.created(comment))))
                             .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST))))
                 .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)));
     }
 
+    // 작성자는 단건 등록과 같이 로그인 회원으로 정하고, 요청 본문에서 받지 않는다.
+    @Override
+    public Flux<BulkResult> registerAll(Flux<CommentBulkRequest> requests, Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)))
+                .flatMapMany(writer -> bulkChunker.process(requests, chunk -> registerChunk(chunk, writer)));
+    }
+
+    // 묶음 안의 게시글을 한 번에 조회하고, 통과한 항목만 한 번의 batch insert 로 저장한다.
+    private Flux<BulkResult> registerChunk(List<Tuple2<Long, CommentBulkRequest>> chunk, User writer) {
+        Set<Long> postIds = chunk.stream()
+                .map(item -> item.getT2().getPostId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return postRepository.findExistingIds(postIds).collect(Collectors.toSet())
+                .flatMapMany(posts -> {
+                    List<Tuple2<Long, Comment>> accepted = new ArrayList<>();
+                    List<BulkResult> rejected = new ArrayList<>();
+                    for (Tuple2<Long, CommentBulkRequest> item : chunk) {
+                        CommentBulkRequest request = item.getT2();
+                        if (!StringUtils.hasText(request.getComment())) {
+                            rejected.add(BulkResult.rejected(item.getT1(), ErrorCode.BAD_REQUEST));
+                        } else if (!posts.contains(request.getPostId())) {
+                            rejected.add(BulkResult.rejected(item.getT1(), ErrorCode.NOT_FOUND_POST));
+                        } else {
+                            accepted.add(Tuples.of(item.getT1(), request.toModel(writer)));
+                        }
+                    }
+                    return commentRepository.saveAll(accepted.stream().map(Tuple2::getT2).toList())
+                            .collectList()
+                            .doOnNext(saved -> saved.stream().map(this::postIdOf).distinct().forEach(postCache::invalidate))
+                            .flatMapMany(saved -> Flux.fromIterable(saved)
+                                    .zipWithIterable(accepted, (comment, item) -> BulkResult.created(item.getT1(), comment.getId())))
+                            .onErrorResume(throwable -> {
+                                log.warn("bulk insert of {} comments from index {} failed", accepted.size(),
+                                        accepted.isEmpty() ? null : accepted.get(0).getT1(), throwable);
+                                return Flux.fromIterable(accepted)
+                                        .map(item -> BulkResult.rejected(item.getT1(), ErrorCode.INTERNAL_SERVER_ERROR));
+                            })
+                            .concatWith(Flux.fromIterable(rejected))
+                            .sort(Comparator.comparingLong(BulkResult::getIndex));
+                });
+    }
+
     @Override
     public Mono<Comment> getComment(Long id) {
         return commentRepository.findById(id)
@@ -46,34 +115,58 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public Flux<Comment> getCommentList(Long postId) {
-        return commentRepository.findByPostId(postId);
+    public Mono<String> getCommentRevision(Long id) {
+        return commentRepository.findRevision(id)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_COMMENT)));
+    }
+
+    @Override
+    public Mono<CursorPage<Comment>> getCommentList(Long postId, CursorRequest cursorRequest) {
+        return commentRepository.findByPostId(postId, cursorRequest.afterOrZero(), cursorRequest.getLimit() + 1)
+                .collectList()
+                .map(comments -> CursorPage.of(comments, cursorRequest.getLimit(), Comment::getId));
+    }
+
+    @Override
+    public Flux<Comment> streamComments(Long postId, long afterId) {
+        return commentRepository.streamByPostId(postId, afterId);
+    }
+
+    @Override
+    public Flux<CommentEvent> subscribeFeed(Long postId) {
+        return postRepository.findById(postId)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)))
+                .thenMany(commentFeed.subscribe(postId));
     }
 
+    // 작성자와 버전 조건을 UPDATE 한 문장에 넣는다. 0건일 때만 원인을 다시 조회해서 에러를 고른다.
     @Override
     public Mono<Comment> modify(CommentRequest request, Long userId) {
-        return userRepository.findById(userId)
-                .flatMap(user ->
-                        commentRepository.findById(request.getId())
-                                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_COMMENT)))
-                                .filter(comment -> comment.matchWriter(user))
-                                .switchIfEmpty(Mono.error(new UnauthorizedException()))
-                                .flatMap(comment ->  commentRepository.save(comment.from(request)))
-                                .flatMap(c -> Mono.just(c.from(user)))
-                )
-                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)));
+        User writer = User.builder().id(userId).build();
+        return commentRepository.update(Comment.from(request, writer, null))
+                .doOnNext(comment -> postCache.invalidate(postIdOf(comment)))
+                .doOnNext(comment -> commentFeed.publish(postIdOf(comment), CommentEvent.modified(comment)))
+                .switchIfEmpty(Mono.defer(() -> ownershipFailure(request.getId(), writer)));
+    }
+
+    private Mono<Comment> ownershipFailure(Long commentId, User writer) {
+        return commentRepository.findOwnership(commentId)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_COMMENT)))
+                .flatMap(comment -> comment.matchWriter(writer)
+                        ? Mono.error(new ConflictException())
+                        : Mono.error(new ForbiddenException()));
     }
 
     @Override
     public Mono<Void> delete(Long commentId, Long userId) {
-        return userRepository.findById(userId)
-                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)))
-                .flatMap(user ->
-                        commentRepository.findById(commentId)
-                                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_COMMENT)))
-                                .filter(comment -> comment.matchWriter(user))
-                                .switchIfEmpty(Mono.error(new ForbiddenException()))
-                                .flatMap(comment ->  commentRepository.deleteById(commentId))
-                );
+        return commentRepository.deleteOwned(commentId, userId)
+                .doOnNext(comment -> postCache.invalidate(postIdOf(comment)))
+                .doOnNext(comment -> commentFeed.publish(postIdOf(comment), CommentEvent.deleted(comment)))
+                .switchIfEmpty(Mono.defer(() -> ownershipFailure(commentId, User.builder().id(userId).build())))
+                .then();
+    }
+
+    private Long postIdOf(Comment comment) {
+        return comment.getPost() != null ? comment.getPost().getId() : null;
     }
 }
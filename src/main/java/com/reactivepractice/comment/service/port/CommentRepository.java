@@ -4,9 +4,17 @@ import com.reactivepractice.comment.domain.Comment;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CommentRepository {
     Mono<Comment> save(Comment comment);
+    Flux<Comment> saveAll(List<Comment> comments);
     Mono<Comment> findById(Long id);
-    Flux<Comment> findByPostId(Long postId);
+    Mono<String> findRevision(Long id);
+    Mono<Comment> findOwnership(Long id);
+    Mono<Comment> update(Comment comment);
+    Flux<Comment> findByPostId(Long postId, long afterId, int limit);
+    Flux<Comment> streamByPostId(Long postId, long afterId);
     Mono<Void> deleteById(Long id);
+    Mono<Comment> deleteOwned(Long id, Long userId);
 }
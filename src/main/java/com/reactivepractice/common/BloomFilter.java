@@ -0,0 +1,60 @@
+package com.reactivepractice.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// long 키 전용 bloom filter. mightContain 이 false 면 넣은 적 없는 키이고, true 면 false positive 일 수 있다.
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    private BloomFilter(int bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter of(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("invalid bloom filter size: " + expectedInsertions + ", " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        int bitCount = (int) Math.max(64, Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void put(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = indexOf(hash1 + i * hash2);
+            bits.getAndUpdate(index >>> 6, word -> word | (1L << index));
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = indexOf(hash1 + i * hash2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(long hash) {
+        return (int) ((hash & Long.MAX_VALUE) % bitCount);
+    }
+
+    // splitmix64 의 마무리 단계. 연속된 키도 비트가 고르게 퍼지게 한다.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,31 @@
+package com.reactivepractice.common;
+
+import reactor.core.publisher.Flux;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class BulkChunker {
+
+    private final int chunkSize;
+
+    private BulkChunker(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public static BulkChunker of(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        }
+        return new BulkChunker(chunkSize);
+    }
+
+    // 요청 순서대로 번호를 붙여 chunkSize 씩 묶는다. concatMap 이 한 번에 한 묶음만 처리하므로
+    // 앞 묶음이 저장될 때까지 요청 본문을 더 읽지 않는다.
+    public <T, R> Flux<R> process(Flux<T> items, Function<List<Tuple2<Long, T>>, Flux<R>> chunkHandler) {
+        return items.index()
+                .buffer(chunkSize)
+                .concatMap(chunkHandler, 1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reactivepractice.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reactivepractice.exception.model.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private long index;
+    private Long id;
+    private String status;
+    private String error;
+
+    public static BulkResult created(long index, Long id) {
+        return BulkResult.builder()
+                .index(index)
+                .id(id)
+                .status(CREATED)
+                .build();
+    }
+
+    public static BulkResult rejected(long index, ErrorCode errorCode) {
+        return BulkResult.builder()
+                .index(index)
+                .status(REJECTED)
+                .error(errorCode.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.exception.model.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class Cursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String encode(Long id) {
+        return ENCODER.encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            return Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException();
+        }
+    }
+}
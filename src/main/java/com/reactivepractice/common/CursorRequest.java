@@ -0,0 +1,48 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.exception.model.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class CursorRequest {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private Long after;
+    private int limit;
+
+    public static CursorRequest first(int limit) {
+        return new CursorRequest(null, limit);
+    }
+
+    public static Mono<CursorRequest> from(ServerRequest request) {
+        return Mono.fromCallable(() -> {
+                    Long after = request.queryParam("after")
+                            .filter(cursor -> !cursor.isEmpty())
+                            .map(Cursor::decode)
+                            .orElse(null);
+                    int limit = request.queryParam("limit")
+                            .filter(value -> !value.isEmpty())
+                            .map(Integer::parseInt)
+                            .orElse(DEFAULT_LIMIT);
+                    if (limit < 1) {
+                        throw new BadRequestException();
+                    }
+                    return new CursorRequest(after, Math.min(limit, MAX_LIMIT));
+                })
+                .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException()));
+    }
+
+    public long afterOrZero() {
+        return after == null ? 0L : after;
+    }
+}
@@ -0,0 +1,43 @@
+package com.reactivepractice.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    public static String of(String resource, Long id, String revision) {
+        return "\"" + resource + "-" + id + "-" + revision + "\"";
+    }
+
+    // If-None-Match 는 약한 비교를 쓰므로 W/ 접두어는 무시하고 값만 비교한다.
+    public static boolean isNotModified(ServerRequest request, String eTag) {
+        List<String> ifNoneMatch = request.headers().header("If-None-Match");
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*")) {
+                    return true;
+                }
+                if (value.startsWith(WEAK_PREFIX)) {
+                    value = value.substring(WEAK_PREFIX.length());
+                }
+                if (value.equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static Mono<ServerResponse> notModified(String eTag) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.reactivepractice.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class HotQuery {
+    private String name;
+    private String sql;
+    private Map<String, Object> parameters;
+
+    public static HotQuery of(String name, String sql, Map<String, Object> parameters) {
+        return new HotQuery(name, sql, parameters);
+    }
+}
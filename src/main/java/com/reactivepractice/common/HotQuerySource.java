@@ -0,0 +1,7 @@
+package com.reactivepractice.common;
+
+import java.util.List;
+
+public interface HotQuerySource {
+    List<HotQuery> hotQueries();
+}
@@ -0,0 +1,35 @@
+package com.reactivepractice.common;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+public class KeysetStream {
+
+    private final int pageSize;
+
+    private KeysetStream(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public static KeysetStream of(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("page size must be positive: " + pageSize);
+        }
+        return new KeysetStream(pageSize);
+    }
+
+    // id > 마지막 id LIMIT pageSize 조회를 반복한다. 페이지마다 커넥션을 잡았다 돌려주므로 느린 구독자가 커넥션을 붙잡지 않고,
+    // 다음 페이지는 앞 페이지를 다 내보낸 뒤에 조회하므로 메모리에는 많아야 두 페이지만 올라간다.
+    public <T> Flux<T> stream(long afterId, BiFunction<Long, Integer, Flux<T>> page, ToLongFunction<T> idOf) {
+        return page.apply(afterId, pageSize).collectList()
+                .expand(items -> items.size() < pageSize
+                        ? Mono.empty()
+                        : page.apply(idOf.applyAsLong(items.get(items.size() - 1)), pageSize).collectList())
+                .concatMapIterable(Function.<List<T>>identity(), 1);
+    }
+}
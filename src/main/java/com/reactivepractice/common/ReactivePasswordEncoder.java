@@ -0,0 +1,8 @@
+package com.reactivepractice.common;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePasswordEncoder {
+    Mono<String> encode(CharSequence rawPassword);
+    Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword);
+}
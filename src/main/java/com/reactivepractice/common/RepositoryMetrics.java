@@ -0,0 +1,76 @@
+package com.reactivepractice.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetrics {
+
+    private static final String METRIC_NAME = "repository.calls";
+    private static final String BULK_ROWS = "repository.bulk.rows";
+    private static final String BULK_DURATION = "repository.bulk.duration";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> Mono<T> timed(String repository, String method, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(repository, method, signal)));
+        });
+    }
+
+    public <T> Flux<T> timed(String repository, String method, Flux<T> source) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(repository, method, signal)));
+        });
+    }
+
+    // 한 번에 여러 행을 지우는 작업은 행 수 구간을 태그로 달아서 큰 작업의 시간만 따로 볼 수 있게 한다.
+    public void recordBulk(String repository, String method, long rows, Duration elapsed) {
+        DistributionSummary.builder(BULK_ROWS)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+        Timer.builder(BULK_DURATION)
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("size", sizeOf(rows))
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+
+    private String sizeOf(long rows) {
+        if (rows < 100) {
+            return "small";
+        }
+        return rows < 10_000 ? "medium" : "large";
+    }
+
+    private Timer timer(String repository, String method, SignalType signal) {
+        return Timer.builder(METRIC_NAME)
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcomeOf(signal))
+                .register(meterRegistry);
+    }
+
+    private String outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancel";
+            default -> signal.name();
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.exception.model.CustomBaseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String METRIC_NAME = "route.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return next.handle(request)
+                    .doOnSuccess(response -> sample.stop(timer(request, response == null ? 200 : response.statusCode().value())))
+                    .doOnError(throwable -> sample.stop(timer(request, statusOf(throwable))));
+        });
+    }
+
+    private Timer timer(ServerRequest request, int status) {
+        String uri = request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+                .map(Object::toString)
+                .orElse("UNKNOWN");
+        return Timer.builder(METRIC_NAME)
+                .tag("method", request.method().name())
+                .tag("uri", uri)
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry);
+    }
+
+    private int statusOf(Throwable throwable) {
+        if (throwable instanceof CustomBaseException customBaseException) {
+            return customBaseException.getErrorCode().getHttpStatus().value();
+        }
+        if (throwable instanceof ResponseStatusException responseStatusException) {
+            return responseStatusException.getStatusCode().value();
+        }
+        return 500;
+    }
+}
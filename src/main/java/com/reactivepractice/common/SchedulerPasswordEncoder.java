@@ -0,0 +1,54 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.exception.model.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+public class SchedulerPasswordEncoder implements ReactivePasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler scheduler;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public SchedulerPasswordEncoder(PasswordEncoder passwordEncoder, Scheduler scheduler, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.scheduler = scheduler;
+        this.encodeTimer = Timer.builder("password.encoder.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.encoder.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.encoder.rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, this::rejected);
+    }
+
+    @Override
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, this::rejected);
+    }
+
+    private Throwable rejected(RejectedExecutionException ex) {
+        rejectedCounter.increment();
+        log.warn("password hashing rejected: {}", ex.getMessage());
+        return new ServiceUnavailableException();
+    }
+}
@@ -1,19 +1,41 @@
 package com.reactivepractice.common;
 
 import com.reactivepractice.exception.model.UnauthorizedException;
+import com.reactivepractice.session.SessionToken;
 import com.reactivepractice.user.handler.response.UserResponse;
 import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.WebSession;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 public class SessionUtils {
 
     public static final String USER_SESSION_KEY = "sessionedUser";
+    public static final String LOGIN_TOKEN_ATTRIBUTE = SessionUtils.class.getName() + ".LOGIN_TOKEN";
+    public static final String CREATE_SESSION_ATTRIBUTE = SessionUtils.class.getName() + ".CREATE_SESSION";
 
+    // SessionTokenFilter 가 검증한 토큰이 있으면 세션 저장소를 조회하지 않는다.
     public static Mono<UserResponse> getLoginUser(ServerRequest serverRequest){
+        Optional<SessionToken> token = getLoginToken(serverRequest);
+        if (token.isPresent()) {
+            return Mono.just(token.get().toUser());
+        }
         return serverRequest.session()
                 .flatMap(webSession -> Mono.just((UserResponse) webSession.getAttribute(USER_SESSION_KEY)))
                 .onErrorResume(NullPointerException.class, throwable -> Mono.error(new UnauthorizedException()))
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new UnauthorizedException())));
     }
 
+    // 세션 쿠키가 없는 요청에서 새 세션이 필요할 때만 호출한다. 그 밖의 경우 serverRequest.session() 은 빈 세션을 돌려준다.
+    public static Mono<WebSession> createSession(ServerRequest serverRequest) {
+        serverRequest.attributes().put(CREATE_SESSION_ATTRIBUTE, Boolean.TRUE);
+        return serverRequest.session();
+    }
+
+    public static Optional<SessionToken> getLoginToken(ServerRequest serverRequest) {
+        return serverRequest.attribute(LOGIN_TOKEN_ATTRIBUTE)
+                .map(SessionToken.class::cast);
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.reactivepractice.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    private SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("singleflight.loads")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.coalesced")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in.flight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public static <K, V> SingleFlight<K, V> of(String name, MeterRegistry meterRegistry) {
+        return new SingleFlight<>(name, meterRegistry);
+    }
+
+    // 진행 중인 조회가 있으면 그 결과를 같이 받고, 끝나면 맵에서 빠지므로 다음 요청은 새로 조회한다.
+    // cache() 로 공유하기 때문에 먼저 구독한 쪽이 취소해도 나머지 구독자의 조회는 계속된다.
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> candidate = Mono.defer(() -> loader.apply(key))
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(candidate);
+            Mono<V> winner = inFlight.putIfAbsent(key, candidate);
+            if (winner != null) {
+                coalesced.increment();
+                return winner;
+            }
+            loads.increment();
+            return candidate;
+        });
+    }
+
+    public double loadCount() {
+        return loads.count();
+    }
+
+    public double coalescedCount() {
+        return coalesced.count();
+    }
+}
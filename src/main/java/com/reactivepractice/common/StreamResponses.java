@@ -0,0 +1,40 @@
+package com.reactivepractice.common;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+public class StreamResponses {
+
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    // SSE 재연결 시 브라우저가 보내는 Last-Event-ID 를 after 보다 우선한다.
+    public static Mono<Long> after(ServerRequest request) {
+        return Mono.fromCallable(() -> Optional.ofNullable(request.headers().firstHeader(LAST_EVENT_ID))
+                .or(() -> request.queryParam("after"))
+                .filter(cursor -> !cursor.isEmpty())
+                .map(Cursor::decode)
+                .orElse(0L));
+    }
+
+    public static <T, R> Mono<ServerResponse> ndjson(Flux<T> items, Function<T, R> toResponse, Class<R> responseType) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(items.map(toResponse), responseType);
+    }
+
+    // 이벤트 id 에 커서를 실어서 연결이 끊겨도 마지막으로 받은 다음부터 이어받을 수 있게 한다.
+    public static <T, R> Mono<ServerResponse> events(Flux<T> items, Function<T, Long> idOf, Function<T, R> toResponse) {
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(items.map(item -> ServerSentEvent.builder(toResponse.apply(item))
+                        .id(Cursor.encode(idOf.apply(item)))
+                        .build()), ServerSentEvent.class);
+    }
+}
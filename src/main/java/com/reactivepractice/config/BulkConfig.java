@@ -0,0 +1,15 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.common.BulkChunker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BulkConfig {
+
+    @Bean
+    public BulkChunker bulkChunker(@Value("${bulk.chunk-size:500}") int chunkSize) {
+        return BulkChunker.of(chunkSize);
+    }
+}
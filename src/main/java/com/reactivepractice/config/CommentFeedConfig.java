@@ -0,0 +1,17 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.comment.service.CommentFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CommentFeedConfig {
+
+    @Bean
+    public CommentFeed commentFeed(@Value("${comment-feed.buffer-size:256}") int bufferSize,
+                                   MeterRegistry meterRegistry) {
+        return CommentFeed.of(bufferSize, meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.user.service.VerifiedCredentialCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class LoginCacheConfig {
+
+    @Bean
+    public VerifiedCredentialCache verifiedCredentialCache(@Value("${login-cache.enabled:false}") boolean enabled,
+                                                           @Value("${login-cache.ttl:5m}") Duration ttl,
+                                                           @Value("${login-cache.max-bytes:4MB}") DataSize maxBytes,
+                                                           MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return VerifiedCredentialCache.disabled();
+        }
+        return VerifiedCredentialCache.of(ttl, maxBytes.toBytes(), meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.common.PasswordEncoder;
+import com.reactivepractice.common.ReactivePasswordEncoder;
+import com.reactivepractice.common.SchedulerPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordEncoderScheduler(@Value("${password-encoder.scheduler.threads:0}") int threads,
+                                              @Value("${password-encoder.scheduler.queue-capacity:1000}") int queueCapacity) {
+        int threadCap = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(threadCap, queueCapacity, "password-encoder");
+    }
+
+    @Bean
+    public ReactivePasswordEncoder reactivePasswordEncoder(PasswordEncoder passwordEncoder,
+                                                           Scheduler passwordEncoderScheduler,
+                                                           MeterRegistry meterRegistry) {
+        return new SchedulerPasswordEncoder(passwordEncoder, passwordEncoderScheduler, meterRegistry);
+    }
+}
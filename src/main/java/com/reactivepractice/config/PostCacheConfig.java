@@ -0,0 +1,24 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.post.service.PostAggregateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class PostCacheConfig {
+
+    @Bean
+    public PostAggregateCache postAggregateCache(@Value("${post-cache.enabled:true}") boolean enabled,
+                                                 @Value("${post-cache.ttl:10m}") Duration ttl,
+                                                 @Value("${post-cache.max-size:10000}") long maxSize,
+                                                 MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return PostAggregateCache.disabled();
+        }
+        return PostAggregateCache.of(ttl, maxSize, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.post.infrastructure.PostDeletePolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@Slf4j
+public class PostDeleteConfig {
+
+    private static final String DROP_COMMENT_POST_FK_SQL = "ALTER TABLE comments DROP CONSTRAINT IF EXISTS comment_post_fk";
+    private static final String ADD_CASCADING_COMMENT_POST_FK_SQL = "ALTER TABLE comments ADD CONSTRAINT comment_post_fk " +
+            "FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE";
+
+    // schema.sql 의 comment_post_fk 는 cascade 없이 선언되어 있다. cascade 모드일 때만 기동 시 제약을 바꿔 건다.
+    @Bean
+    @DependsOnDatabaseInitialization
+    public PostDeletePolicy postDeletePolicy(@Value("${post-delete.mode:statement}") String mode,
+                                             @Value("${post-delete.chunk-size:1000}") int chunkSize,
+                                             DatabaseClient databaseClient) {
+        PostDeletePolicy policy = PostDeletePolicy.of(mode, chunkSize);
+        if (policy.isCascade()) {
+            databaseClient.sql(DROP_COMMENT_POST_FK_SQL).then()
+                    .then(databaseClient.sql(ADD_CASCADING_COMMENT_POST_FK_SQL).then())
+                    .block();
+            log.info("comment_post_fk declared with ON DELETE CASCADE");
+        }
+        return policy;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.common.HotQuery;
+import com.reactivepractice.common.HotQuerySource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class QueryPlanCheckConfig {
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Value("${query-plan-check.mode:log}")
+    private String mode;
+
+    private final DatabaseClient databaseClient;
+    private final List<HotQuerySource> hotQuerySources;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if ("off".equalsIgnoreCase(mode)) {
+            return;
+        }
+        List<String> scans = Flux.fromIterable(hotQuerySources)
+                .flatMapIterable(HotQuerySource::hotQueries)
+                .concatMap(query -> explain(query)
+                        .filter(plan -> plan.contains(TABLE_SCAN))
+                        .map(plan -> query.getName() + " -> " + plan)
+                        .onErrorResume(e -> {
+                            log.warn("could not explain query {}: {}", query.getName(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .collectList()
+                .block();
+
+        if (scans == null || scans.isEmpty()) {
+            log.info("query plan check passed for all hot queries");
+            return;
+        }
+        scans.forEach(scan -> log.warn("hot query falls back to a table scan: {}", scan));
+        if ("fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("hot queries fall back to table scans: " + scans);
+        }
+    }
+
+    private Mono<String> explain(HotQuery query) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("EXPLAIN " + query.getSql());
+        for (Map.Entry<String, Object> parameter : query.getParameters().entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(row -> row.get(0, String.class))
+                .all()
+                .collect(Collectors.joining(" "));
+    }
+}
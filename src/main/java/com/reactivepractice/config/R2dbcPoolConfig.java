@@ -0,0 +1,53 @@
+package com.reactivepractice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+@Slf4j
+public class R2dbcPoolConfig {
+
+    @Bean
+    public ConnectionFactory connectionFactory(R2dbcProperties properties, MeterRegistry meterRegistry) {
+        ConnectionFactory connectionFactory = connectionFactoryBuilder(properties).build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        if (!pool.isEnabled()) {
+            return connectionFactory;
+        }
+
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize());
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getValidationQuery()).when(StringUtils::hasText).to(builder::validationQuery);
+
+        log.info("r2dbc connection pool initial-size={}, max-size={}", pool.getInitialSize(), pool.getMaxSize());
+        return new TimedConnectionFactory(new ConnectionPool(builder.build()), meterRegistry);
+    }
+
+    private ConnectionFactoryBuilder connectionFactoryBuilder(R2dbcProperties properties) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (StringUtils.hasText(properties.getUsername())) {
+            builder = builder.username(properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            builder = builder.password(properties.getPassword());
+        }
+        return builder;
+    }
+}
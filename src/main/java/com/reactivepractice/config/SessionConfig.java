@@ -1,19 +1,71 @@
 package com.reactivepractice.config;
 
+import com.reactivepractice.common.RepositoryMetrics;
+import com.reactivepractice.session.LazyWebSessionManager;
+import com.reactivepractice.session.LocalSessionRepository;
+import com.reactivepractice.session.R2dbcSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.session.ReactiveMapSessionRepository;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.session.ReactiveSessionRepository;
-import org.springframework.session.config.annotation.web.server.EnableSpringWebSession;
+import org.springframework.session.Session;
+import org.springframework.session.web.server.session.SpringSessionWebSessionStore;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.server.session.CookieWebSessionIdResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionIdResolver;
+import org.springframework.web.server.session.WebSessionManager;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
 
+// @EnableSpringWebSession 이 등록하는 webSessionManager 를 직접 만들어서 LazyWebSessionManager 로 감싼다.
 @Configuration
-@EnableSpringWebSession
 public class SessionConfig {
 
+    @Bean(WebHttpHandlerBuilder.WEB_SESSION_MANAGER_BEAN_NAME)
+    public WebSessionManager webSessionManager(ReactiveSessionRepository<? extends Session> sessionRepository,
+                                               ObjectProvider<WebSessionIdResolver> sessionIdResolver,
+                                               MeterRegistry meterRegistry) {
+        WebSessionIdResolver resolver = sessionIdResolver.getIfAvailable(CookieWebSessionIdResolver::new);
+        SpringSessionWebSessionStore<? extends Session> sessionStore = new SpringSessionWebSessionStore<>(sessionRepository);
+        DefaultWebSessionManager manager = new DefaultWebSessionManager();
+        manager.setSessionStore(sessionStore);
+        manager.setSessionIdResolver(resolver);
+        return new LazyWebSessionManager(manager, sessionStore, resolver, meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "session-store.type", havingValue = "r2dbc", matchIfMissing = true)
+    public R2dbcSessionRepository reactiveSessionRepository(DatabaseClient databaseClient,
+                                                            RepositoryMetrics repositoryMetrics,
+                                                            MeterRegistry meterRegistry,
+                                                            @Value("${session-store.timeout:30m}") Duration timeout,
+                                                            @Value("${session-store.flush-interval:10s}") Duration flushInterval,
+                                                            @Value("${session-store.flush-batch-size:500}") int flushBatchSize,
+                                                            @Value("${session-store.sweep-interval:1m}") Duration sweepInterval,
+                                                            @Value("${session-store.sweep-chunk-size:1000}") int sweepChunkSize) {
+        return R2dbcSessionRepository.builder()
+                .databaseClient(databaseClient)
+                .repositoryMetrics(repositoryMetrics)
+                .meterRegistry(meterRegistry)
+                .defaultMaxInactiveInterval(timeout)
+                .flushInterval(flushInterval)
+                .flushBatchSize(flushBatchSize)
+                .sweepInterval(sweepInterval)
+                .sweepChunkSize(sweepChunkSize)
+                .build();
+    }
+
     @Bean
-    public ReactiveSessionRepository reactiveSessionRepository() {
-        return new ReactiveMapSessionRepository(new ConcurrentHashMap<>());
+    @ConditionalOnProperty(name = "session-store.type", havingValue = "local")
+    public LocalSessionRepository localSessionRepository(@Value("${session-store.timeout:30m}") Duration timeout,
+                                                         @Value("${session-store.max-sessions:1000000}") long maxSessions,
+                                                         @Value("${session-store.slab-size:1048576}") int slabSize,
+                                                         MeterRegistry meterRegistry) {
+        return LocalSessionRepository.of(timeout, maxSessions, slabSize, meterRegistry);
     }
 }
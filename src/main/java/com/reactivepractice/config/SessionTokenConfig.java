@@ -0,0 +1,46 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.session.SessionTokenFilter;
+import com.reactivepractice.session.SessionTokens;
+import com.reactivepractice.session.TokenRevocations;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+@Configuration
+@Slf4j
+public class SessionTokenConfig {
+
+    @Bean
+    public SessionTokens sessionTokens(@Value("${session-token.enabled:false}") boolean enabled,
+                                       @Value("${session-token.secret:}") String secret,
+                                       @Value("${session-token.ttl:30m}") Duration ttl,
+                                       @Value("${session-token.revocation.expected:100000}") int expectedRevocations,
+                                       @Value("${session-token.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                       MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return SessionTokens.disabled();
+        }
+        byte[] key;
+        if (StringUtils.hasText(secret)) {
+            key = Base64.getDecoder().decode(secret);
+        } else {
+            log.warn("session-token.secret is not set; tokens will not survive a restart or be accepted by other nodes");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        }
+        return SessionTokens.of(key, ttl, TokenRevocations.of(expectedRevocations, falsePositiveRate), meterRegistry);
+    }
+
+    @Bean
+    public SessionTokenFilter sessionTokenFilter(SessionTokens sessionTokens) {
+        return new SessionTokenFilter(sessionTokens);
+    }
+}
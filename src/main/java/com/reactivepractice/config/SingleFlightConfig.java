@@ -0,0 +1,17 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.common.SingleFlight;
+import com.reactivepractice.post.doamin.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.util.function.Tuple2;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<Tuple2<Long, Long>, Post> postLoads(MeterRegistry meterRegistry) {
+        return SingleFlight.of("post", meterRegistry);
+    }
+}
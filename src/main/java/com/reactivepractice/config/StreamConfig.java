@@ -0,0 +1,15 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.common.KeysetStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StreamConfig {
+
+    @Bean
+    public KeysetStream keysetStream(@Value("${stream.page-size:100}") int pageSize) {
+        return KeysetStream.of(pageSize);
+    }
+}
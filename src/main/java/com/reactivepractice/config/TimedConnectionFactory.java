@@ -0,0 +1,59 @@
+package com.reactivepractice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable {
+
+    private final ConnectionPool connectionPool;
+    private final Timer acquireSuccessTimer;
+    private final Timer acquireFailureTimer;
+    private final MeterRegistry meterRegistry;
+
+    public TimedConnectionFactory(ConnectionPool connectionPool, MeterRegistry meterRegistry) {
+        this.connectionPool = connectionPool;
+        this.meterRegistry = meterRegistry;
+        this.acquireSuccessTimer = acquireTimer("success");
+        this.acquireFailureTimer = acquireTimer("failure");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Mono.<Connection>from(connectionPool.create())
+                    .doOnSuccess(connection -> sample.stop(acquireSuccessTimer))
+                    .doOnError(throwable -> sample.stop(acquireFailureTimer));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return connectionPool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return connectionPool;
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    private Timer acquireTimer(String outcome) {
+        return Timer.builder("r2dbc.pool.acquire")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.reactivepractice.config;
+
+import com.reactivepractice.user.infrastructure.CachingUserRepository;
+import com.reactivepractice.user.infrastructure.UserRepositoryImpl;
+import com.reactivepractice.user.service.port.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    @Primary
+    public UserRepository cachingUserRepository(UserRepositoryImpl userRepositoryImpl,
+                                                @Value("${user-cache.enabled:true}") boolean enabled,
+                                                @Value("${user-cache.ttl:1m}") Duration ttl,
+                                                @Value("${user-cache.max-size:10000}") long maxSize,
+                                                MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return userRepositoryImpl;
+        }
+        return CachingUserRepository.of(userRepositoryImpl, ttl, maxSize, meterRegistry);
+    }
+}
@@ -2,6 +2,9 @@ package com.reactivepractice.exception.handler;
 
 import com.reactivepractice.exception.model.CustomBaseException;
 import com.reactivepractice.exception.model.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -10,12 +13,20 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class ExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     public Mono<ServerResponse> handleGlobalException(CustomBaseException ex) {
         log.error("Global exception", ex);
         ErrorResponse errorResponse = ErrorResponse.of(ex.getErrorCode());
+        Counter.builder("api.errors")
+                .tag("code", ex.getErrorCode().name())
+                .tag("status", String.valueOf(ex.getErrorCode().getHttpStatus().value()))
+                .register(meterRegistry)
+                .increment();
 
         return ServerResponse.status(ex.getErrorCode().getHttpStatus())
                 .contentType(MediaType.APPLICATION_JSON)
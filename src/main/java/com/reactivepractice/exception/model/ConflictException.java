@@ -0,0 +1,11 @@
+package com.reactivepractice.exception.model;
+
+public class ConflictException extends CustomBaseException{
+    public ConflictException(ErrorCode errorCode) {
+        super(errorCode.getMessage(), errorCode);
+    }
+
+    public ConflictException(){
+        super(ErrorCode.CONFLICT);
+    }
+}
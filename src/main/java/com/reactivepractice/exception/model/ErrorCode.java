@@ -13,6 +13,8 @@ public enum ErrorCode {
     NOT_FOUND_POST("NOT_FOUND_POST", HttpStatus.NOT_FOUND),
     NOT_FOUND_COMMENT("NOT_FOUND_COMMENT", HttpStatus.NOT_FOUND),
     ALREADY_EXIST("ALREADY_EXIST", HttpStatus.CONFLICT),
+    CONFLICT("CONFLICT", HttpStatus.CONFLICT),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE),
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final String message;
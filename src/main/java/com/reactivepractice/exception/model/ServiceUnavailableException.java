@@ -0,0 +1,11 @@
+package com.reactivepractice.exception.model;
+
+public class ServiceUnavailableException extends CustomBaseException{
+    public ServiceUnavailableException(ErrorCode errorCode) {
+        super(errorCode.getMessage(), errorCode);
+    }
+
+    public ServiceUnavailableException(){
+        super(ErrorCode.SERVICE_UNAVAILABLE);
+    }
+}
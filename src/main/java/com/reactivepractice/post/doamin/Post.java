@@ -26,12 +26,15 @@ public class Post {
 
     private List<Comment> comments;
 
+    private Long version;
+
     public static Post from(PostRequest post, User user) {
         return Post.builder()
                 .id(post.getId())
                 .user(user)
                 .title(post.getTitle())
                 .contents(post.getContents())
+                .version(post.getVersion())
                 .build();
     }
 
@@ -41,6 +44,7 @@ public class Post {
                 .user(user)
                 .title(title)
                 .contents(contents)
+                .version(version)
                 .build();
     }
 
@@ -57,6 +61,30 @@ public class Post {
                 .build();
     }
 
+    // 응답으로 나가는 집합체 자체에서 ETag 를 만든다. 캐시에서 나온 값이어도 본문과 ETag 가 어긋나지 않는다.
+    public String revision() {
+        List<Comment> commentList = comments == null ? List.of() : comments;
+        return revision(versionOf(version),
+                versionOf(user == null ? null : user.getVersion()),
+                commentList.size(),
+                commentList.stream().mapToLong(Comment::getId).max().orElse(0L),
+                commentList.stream().mapToLong(comment -> versionOf(comment.getVersion())).sum(),
+                commentList.stream()
+                        .mapToLong(comment -> versionOf(comment.getWriter() == null ? null : comment.getWriter().getVersion()))
+                        .sum());
+    }
+
+    // 집합체를 읽지 않고 버전만 모아 온 조회도 같은 값을 만들도록 형식을 한곳에 둔다.
+    public static String revision(long postVersion, long writerVersion, long commentCount, long lastCommentId,
+                                  long commentVersions, long commentWriterVersions) {
+        return postVersion + "." + writerVersion + "." + commentCount + "." + lastCommentId + "."
+                + commentVersions + "." + commentWriterVersions;
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0L : version;
+    }
+
     public boolean matchWriter(User user) {
         return this.user.getId().equals(user.getId());
     }
@@ -68,6 +96,7 @@ public class Post {
                 .title(title)
                 .contents(contents)
                 .comments(commentList)
+                .version(version)
                 .build();
     }
 }
@@ -0,0 +1,27 @@
+package com.reactivepractice.post.doamin;
+
+import com.reactivepractice.user.domain.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class PostBulkRequest {
+    private String title;
+
+    private String contents;
+
+    public Post toModel(User user) {
+        return Post.builder()
+                .user(user)
+                .title(title)
+                .contents(contents)
+                .build();
+    }
+}
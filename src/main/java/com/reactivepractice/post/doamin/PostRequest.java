@@ -15,4 +15,6 @@ public class PostRequest {
     private String title;
 
     private String contents;
+
+    private Long version;
 }
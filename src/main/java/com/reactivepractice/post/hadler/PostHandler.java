@@ -1,12 +1,19 @@
 package com.reactivepractice.post.hadler;
 
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.ETags;
 import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.common.StreamResponses;
 import com.reactivepractice.exception.model.BadRequestException;
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.post.doamin.PostBulkRequest;
 import com.reactivepractice.post.doamin.PostRequest;
 import com.reactivepractice.post.hadler.port.PostService;
 import com.reactivepractice.post.hadler.response.PostResponse;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -31,25 +38,60 @@ public class PostHandler {
                         .body(BodyInserters.fromValue(PostResponse.fromWithWriter(p))));
     }
 
+    public Mono<ServerResponse> registerAll(ServerRequest request) {
+        return SessionUtils.getLoginUser(request)
+                .flatMap(user -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(postService.registerAll(request.bodyToFlux(PostBulkRequest.class), user.getId()), BulkResult.class));
+    }
+
     public Mono<ServerResponse> getPost(ServerRequest request) {
         return SessionUtils.getLoginUser(request)
                 .flatMap(user -> Mono.just(request.pathVariable("id"))
                         .map(Long::parseLong)
                         .onErrorResume(NumberFormatException.class, throwable -> Mono.error(new BadRequestException()))
-                        .flatMap(postService::getPost)
-                        .log()
-                        .flatMap(post -> ServerResponse.ok().body(BodyInserters.fromValue(PostResponse.fromWithWriter(post)))));
+                        .flatMap(postId -> notModified(request, postId)
+                                .switchIfEmpty(Mono.defer(() -> postService.getPost(postId)
+                                        .flatMap(post -> ServerResponse.ok().eTag(ETags.of("post", postId, post.revision()))
+                                                .body(BodyInserters.fromValue(PostResponse.fromWithWriter(post))))))));
+    }
+
+    // If-None-Match 가 있을 때만 revision 을 먼저 확인해서 일치하면 집합체를 만들지 않고 304 로 끝낸다.
+    // 200 응답의 ETag 는 실제로 내보내는 본문에서 다시 만든다.
+    private Mono<ServerResponse> notModified(ServerRequest request, Long postId) {
+        if (request.headers().header(HttpHeaders.IF_NONE_MATCH).isEmpty()) {
+            return Mono.empty();
+        }
+        return postService.getPostRevision(postId)
+                .map(revision -> ETags.of("post", postId, revision))
+                .filter(eTag -> ETags.isNotModified(request, eTag))
+                .flatMap(ETags::notModified);
     }
 
     public Mono<ServerResponse> getAllPosts(ServerRequest request) {
-        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(postService.getAllPosts().map(PostResponse::fromWithWriter), PostResponse.class);
+        return CursorRequest.from(request)
+                .flatMap(postService::getPosts)
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(page.map(PostResponse::fromWithWriter))));
+    }
+
+    public Mono<ServerResponse> streamPosts(ServerRequest request) {
+        return StreamResponses.after(request)
+                .flatMap(after -> StreamResponses.ndjson(postService.streamPosts(after),
+                        PostResponse::fromWithWriter, PostResponse.class));
+    }
+
+    public Mono<ServerResponse> streamPostEvents(ServerRequest request) {
+        return StreamResponses.after(request)
+                .flatMap(after -> StreamResponses.events(postService.streamPosts(after),
+                        Post::getId, PostResponse::fromWithWriter));
     }
 
     public Mono<ServerResponse> modify(ServerRequest request) {
         return SessionUtils.getLoginUser(request)
                 .flatMap(user -> request.bodyToMono(PostRequest.class)
-                        .flatMap(p -> postService.modify(p, user.getId())))
+                        .flatMap(p -> postService.modify(p, user.getId()))
+                        .map(p -> p.from(user.toModel())))
                 .flatMap(p -> ServerResponse
                         .status(HttpStatus.OK)
                         .body(BodyInserters.fromValue(PostResponse.fromWithWriter(p))));
@@ -1,14 +1,21 @@
 package com.reactivepractice.post.hadler.port;
 
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
 import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.post.doamin.PostBulkRequest;
 import com.reactivepractice.post.doamin.PostRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface PostService {
     Mono<Post> register(PostRequest request, Long userId);
+    Flux<BulkResult> registerAll(Flux<PostBulkRequest> requests, Long userId);
     Mono<Post> getPost(Long postId);
-    Flux<Post> getAllPosts();
+    Mono<String> getPostRevision(Long postId);
+    Mono<CursorPage<Post>> getPosts(CursorRequest cursorRequest);
+    Flux<Post> streamPosts(long afterId);
     Mono<Void> delete(Long postId, Long userId);
     Mono<Post> modify(PostRequest request, Long userId);
 }
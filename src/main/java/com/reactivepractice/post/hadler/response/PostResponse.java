@@ -26,6 +26,7 @@ public class PostResponse {
     private String content;
     private UserResponse writer;
     private List<CommentResponse> comments;
+    private Long version;
 //    private Flux<CommentResponse> comments;
 
     public static PostResponse fromWithWriter(Post post) {
@@ -37,6 +38,7 @@ public class PostResponse {
                 .comments(Objects.nonNull(post.getComments())
                         ? post.getComments().stream().map(CommentResponse::fromWithoutPost).toList()
                         : new ArrayList<>())
+                .version(post.getVersion())
 //                .comments(Objects.nonNull(post.getComments()) ? post.getComments().stream().map(CommentResponse::fromWithoutPost).toList() : new ArrayList<>())
 //                .comments(Objects.nonNull(post.getComments()) ? post.getComments().map(CommentResponse::fromWithoutPost) : Flux.empty())
 //                .comments(Objects.nonNull(post.getComments()) ? post.getComments().flatMap(c -> {
@@ -0,0 +1,41 @@
+package com.reactivepractice.post.infrastructure;
+
+// 게시글을 지울 때 댓글을 어떻게 지울지. statement 는 한 문장, chunked 는 chunkSize 씩 나눠서,
+// cascade 는 comment_post_fk 의 ON DELETE CASCADE 에 맡긴다.
+public class PostDeletePolicy {
+
+    public enum Mode {
+        STATEMENT, CHUNKED, CASCADE
+    }
+
+    private final Mode mode;
+    private final int chunkSize;
+
+    private PostDeletePolicy(Mode mode, int chunkSize) {
+        this.mode = mode;
+        this.chunkSize = chunkSize;
+    }
+
+    public static PostDeletePolicy of(String mode, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("post-delete.chunk-size must be positive");
+        }
+        return new PostDeletePolicy(Mode.valueOf(mode.trim().toUpperCase()), chunkSize);
+    }
+
+    public static PostDeletePolicy statement() {
+        return new PostDeletePolicy(Mode.STATEMENT, 1000);
+    }
+
+    public boolean isCascade() {
+        return mode == Mode.CASCADE;
+    }
+
+    public boolean isChunked() {
+        return mode == Mode.CHUNKED;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+}
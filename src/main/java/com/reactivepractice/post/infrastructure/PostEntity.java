@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Table("posts")
@@ -25,12 +26,16 @@ public class PostEntity {
 
     private String contents;
 
+    @Version
+    private Long version;
+
     public static PostEntity from(Post post) {
         return PostEntity.builder()
                 .id(post.getId())
                 .userId(post.getUser().getId())
                 .title(post.getTitle())
                 .contents(post.getContents())
+                .version(post.getId() == null ? null : post.getVersion())
                 .build();
     }
 
@@ -40,6 +45,7 @@ public class PostEntity {
                 .user(User.builder().id(userId).build())
                 .title(title)
                 .contents(contents)
+                .version(version)
                 .build();
     }
 }
@@ -1,6 +1,13 @@
 package com.reactivepractice.post.infrastructure;
 
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
 
 public interface PostReactiveRepository extends ReactiveCrudRepository<PostEntity, Long> {
+
+    @Modifying
+    @Query("UPDATE posts SET user_id = :userId, title = :title, contents = :contents, version = version + 1 WHERE id = :id")
+    Mono<Long> update(Long id, Long userId, String title, String contents);
 }
@@ -1,52 +1,328 @@
 package com.reactivepractice.post.infrastructure;
 
+import com.reactivepractice.common.HotQuery;
+import com.reactivepractice.common.HotQuerySource;
+import com.reactivepractice.common.KeysetStream;
+import com.reactivepractice.common.RepositoryMetrics;
 import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.post.service.port.PostRepository;
+import com.reactivepractice.user.domain.User;
+import io.r2dbc.spi.Statement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
-public class PostRepositoryImpl implements PostRepository {
+public class PostRepositoryImpl implements PostRepository, HotQuerySource {
+
+    private static final String FIND_BY_ID_SQL = "SELECT p.id, p.title, p.contents, p.user_id, " +
+            "u.id as p_user_id, u.name, u.email " +
+            "FROM posts p " +
+            "JOIN users u ON p.user_id = u.id " +
+            "WHERE p.id = :id";
+
+    private static final String FIND_BY_ID_WITH_COMMENTS_SQL = "SELECT p.id AS post_id, p.title AS post_title, p.contents AS post_contents, p.version AS post_version, " +
+            "pu.id AS writer_id, pu.email AS writer_email, pu.name AS writer_name, pu.version AS writer_version, " +
+            "c.id AS comment_id, c.contents AS comment_contents, c.version AS comment_version, " +
+            "cu.id AS comment_writer_id, cu.email AS comment_writer_email, cu.name AS comment_writer_name, " +
+            "cu.version AS comment_writer_version " +
+            "FROM posts p " +
+            "JOIN users pu ON p.user_id = pu.id " +
+            "LEFT JOIN comments c ON c.post_id = p.id " +
+            "LEFT JOIN users cu ON c.user_id = cu.id " +
+            "WHERE p.id = :id " +
+            "ORDER BY c.id";
+
+    private static final String FIND_ALL_SQL = "SELECT p.id, p.title, p.contents, p.user_id, u.email, u.name " +
+            "FROM posts p " +
+            "JOIN users u ON p.user_id = u.id " +
+            "WHERE p.id > :afterId " +
+            "ORDER BY p.id " +
+            "LIMIT :limit";
+
+    // 댓글 행을 가져오지 않고 버전과 개수만 집계한다. Post.revision() 과 같은 값을 만든다.
+    private static final String FIND_REVISION_SQL = "SELECT p.version AS post_version, pu.version AS writer_version, " +
+            "COUNT(c.id) AS comment_count, COALESCE(MAX(c.id), 0) AS last_comment_id, " +
+            "COALESCE(SUM(c.version), 0) AS comment_versions, COALESCE(SUM(cu.version), 0) AS comment_writer_versions " +
+            "FROM posts p " +
+            "JOIN users pu ON p.user_id = pu.id " +
+            "LEFT JOIN comments c ON c.post_id = p.id " +
+            "LEFT JOIN users cu ON c.user_id = cu.id " +
+            "WHERE p.id = :id " +
+            "GROUP BY p.id, p.version, pu.version";
+
+    private static final String FIND_OWNERSHIP_SQL = "SELECT id, user_id, version FROM posts WHERE id = :id";
+
+    // FINAL TABLE 로 갱신된 행을 같은 문장에서 돌려받는다. 0건이면 없거나, 작성자가 다르거나, 버전이 다르다.
+    private static final String UPDATE_SQL = "SELECT id, user_id, title, contents, version FROM FINAL TABLE (" +
+            "UPDATE posts SET title = :title, contents = :contents, version = version + 1 " +
+            "WHERE id = :id AND user_id = :userId)";
+
+    private static final String UPDATE_VERSIONED_SQL = "SELECT id, user_id, title, contents, version FROM FINAL TABLE (" +
+            "UPDATE posts SET title = :title, contents = :contents, version = version + 1 " +
+            "WHERE id = :id AND user_id = :userId AND version = :version)";
+
+    // OLD TABLE 로 지운 행을 같은 문장에서 돌려받는다. 0건이면 없거나 작성자가 다르다.
+    private static final String DELETE_OWNED_SQL = "SELECT id, user_id FROM OLD TABLE (" +
+            "DELETE FROM posts WHERE id = :id AND user_id = :userId)";
+
+    private static final String INSERT_SQL = "INSERT INTO posts (user_id, title, contents) VALUES ($1, $2, $3)";
+
+    private static final String FIND_EXISTING_IDS_SQL = "SELECT id FROM posts WHERE id IN (:ids)";
+
+    private static final String DELETE_COMMENTS_SQL = "DELETE FROM comments WHERE post_id = :id";
+
+    // 게시글 작성자가 아니면 댓글도 지우지 않는다.
+    private static final String DELETE_OWNED_COMMENTS_SQL = "DELETE FROM comments WHERE post_id = :id " +
+            "AND EXISTS (SELECT 1 FROM posts WHERE id = :id AND user_id = :userId)";
+
+    // cascade 모드에서 같이 지워질 댓글 수. 다른 모드의 삭제 건수와 같은 조건으로 센다.
+    private static final String COUNT_COMMENTS_SQL = "SELECT COUNT(*) AS cnt FROM comments WHERE post_id = :id";
+
+    private static final String COUNT_OWNED_COMMENTS_SQL = "SELECT COUNT(*) AS cnt FROM comments WHERE post_id = :id " +
+            "AND EXISTS (SELECT 1 FROM posts WHERE id = :id AND user_id = :userId)";
 
     private final PostReactiveRepository postReactiveRepository;
     private final DatabaseClient databaseClient;
+    private final RepositoryMetrics repositoryMetrics;
+    private final TransactionalOperator transactionalOperator;
+    private final PostDeletePolicy deletePolicy;
+    private final KeysetStream keysetStream;
 
     @Override
     public Mono<Post> save(Post post) {
-        return postReactiveRepository.save(PostEntity.from(post))
-                .flatMap(p -> Mono.just(p.toModel()));
+        PostEntity entity = PostEntity.from(post);
+        if (entity.getId() == null) {
+            return repositoryMetrics.timed("post", "insert",
+                    postReactiveRepository.save(entity)
+                            .flatMap(p -> Mono.just(p.toModel())));
+        }
+        return repositoryMetrics.timed("post", "update",
+                postReactiveRepository.update(entity.getId(), entity.getUserId(), entity.getTitle(), entity.getContents())
+                        .filter(rows -> rows > 0)
+                        .map(rows -> entity.toModel()));
+    }
+
+    // Statement.add 로 한 번에 보내고, 중간에 실패하면 묶음 전체를 롤백한다.
+    @Override
+    public Flux<Post> saveAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return Flux.empty();
+        }
+        Flux<Post> saved = databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_SQL).returnGeneratedValues("id");
+                    for (int i = 0; i < posts.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Post post = posts.get(i);
+                        statement.bind(0, post.getUser().getId())
+                                .bind(1, post.getTitle())
+                                .bind(2, post.getContents());
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)));
+                })
+                .zipWithIterable(posts, (id, post) -> Post.builder()
+                        .id(id)
+                        .user(post.getUser())
+                        .title(post.getTitle())
+                        .contents(post.getContents())
+                        .version(0L)
+                        .build());
+        return repositoryMetrics.timed("post", "saveAll", transactionalOperator.transactional(saved));
     }
 
     @Override
     public Mono<Post> findById(Long id) {
-        String sql = "SELECT p.id, p.title, p.contents, p.user_id, " +
-                "u.id as p_user_id, u.name, u.email, " +
-                "FROM posts p " +
-                "JOIN users u ON p.user_id = u.id " +
-                "WHERE p.id = :id";
-
-        return databaseClient.sql(sql)
-                .bind("id", id)
-                .map(row -> Post.from(row))
-                .one();
+        return repositoryMetrics.timed("post", "findById",
+                databaseClient.sql(FIND_BY_ID_SQL)
+                        .bind("id", id)
+                        .map(row -> Post.from(row))
+                        .one());
+    }
+
+    @Override
+    public Flux<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return repositoryMetrics.timed("post", "findExistingIds",
+                databaseClient.sql(FIND_EXISTING_IDS_SQL)
+                        .bind("ids", ids)
+                        .map(row -> row.get("id", Long.class))
+                        .all());
+    }
+
+    @Override
+    public Mono<Post> findByIdWithComments(Long id) {
+        return repositoryMetrics.timed("post", "findByIdWithComments",
+                Mono.defer(() -> {
+                    PostWithCommentsMapper mapper = new PostWithCommentsMapper();
+                    return databaseClient.sql(FIND_BY_ID_WITH_COMMENTS_SQL)
+                            .bind("id", id)
+                            .map(mapper::fold)
+                            .all()
+                            .then(Mono.fromSupplier(mapper::toPost));
+                }));
+    }
+
+    @Override
+    public Mono<String> findRevision(Long id) {
+        return repositoryMetrics.timed("post", "findRevision",
+                databaseClient.sql(FIND_REVISION_SQL)
+                        .bind("id", id)
+                        .map(row -> Post.revision(
+                                longOf(row.get("post_version")),
+                                longOf(row.get("writer_version")),
+                                longOf(row.get("comment_count")),
+                                longOf(row.get("last_comment_id")),
+                                longOf(row.get("comment_versions")),
+                                longOf(row.get("comment_writer_versions"))))
+                        .one());
     }
 
+    // 집계 결과는 BIGINT 가 아니라 NUMERIC 으로 올 수 있다.
+    private static long longOf(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    public Mono<Post> findOwnership(Long id) {
+        return repositoryMetrics.timed("post", "findOwnership",
+                databaseClient.sql(FIND_OWNERSHIP_SQL)
+                        .bind("id", id)
+                        .map(row -> Post.builder()
+                                .id(row.get("id", Long.class))
+                                .user(User.builder().id(row.get("user_id", Long.class)).build())
+                                .version(row.get("version", Long.class))
+                                .build())
+                        .one());
+    }
+
+    @Override
+    public Mono<Post> update(Post post) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(post.getVersion() == null ? UPDATE_SQL : UPDATE_VERSIONED_SQL)
+                .bind("id", post.getId())
+                .bind("userId", post.getUser().getId())
+                .bind("title", post.getTitle())
+                .bind("contents", post.getContents());
+        if (post.getVersion() != null) {
+            spec = spec.bind("version", post.getVersion());
+        }
+        return repositoryMetrics.timed("post", "update",
+                spec.map(row -> Post.builder()
+                                .id(row.get("id", Long.class))
+                                .user(User.builder().id(row.get("user_id", Long.class)).build())
+                                .title(row.get("title", String.class))
+                                .contents(row.get("contents", String.class))
+                                .version(row.get("version", Long.class))
+                                .build())
+                        .one());
+    }
 
     @Override
-    public Flux<Post> findAll() {
-        String sql = "SELECT p.*, u.* FROM posts p JOIN users u ON p.user_id = u.id";
-        return databaseClient.sql(sql)
-                .map(row -> Post.from(row))
-                .all();
+    public Flux<Post> findAll(long afterId, int limit) {
+        return repositoryMetrics.timed("post", "findAll",
+                databaseClient.sql(FIND_ALL_SQL)
+                        .bind("afterId", afterId)
+                        .bind("limit", limit)
+                        .map(row -> Post.from(row))
+                        .all());
+    }
+
+    @Override
+    public Flux<Post> streamAll(long afterId) {
+        return keysetStream.stream(afterId, this::findAll, Post::getId);
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
-        return postReactiveRepository.deleteById(id);
+        Mono<Void> delete = deleteWithComments(DELETE_COMMENTS_SQL, COUNT_COMMENTS_SQL, Map.of("id", id),
+                postReactiveRepository.deleteById(id));
+        return repositoryMetrics.timed("post", "deleteById", transactionalOperator.transactional(delete));
+    }
+
+    // 댓글과 게시글을 한 트랜잭션에서 지운다. 게시글이 지워지지 않으면 empty 로 끝나고 댓글 삭제도 롤백된다.
+    @Override
+    public Mono<Post> deleteOwned(Long id, Long userId) {
+        Mono<Post> delete = deleteWithComments(DELETE_OWNED_COMMENTS_SQL, COUNT_OWNED_COMMENTS_SQL, Map.of("id", id, "userId", userId),
+                databaseClient.sql(DELETE_OWNED_SQL)
+                        .bind("id", id)
+                        .bind("userId", userId)
+                        .map(row -> Post.builder()
+                                .id(row.get("id", Long.class))
+                                .user(User.builder().id(row.get("user_id", Long.class)).build())
+                                .build())
+                        .one());
+        return repositoryMetrics.timed("post", "deleteOwned", transactionalOperator.transactional(delete));
+    }
+
+    // cascade 모드는 게시글 삭제 문장이 댓글까지 지우므로, 지워질 댓글 수를 먼저 세고 그 문장의 시간을 같은 지표로 남긴다.
+    private <T> Mono<T> deleteWithComments(String deleteCommentsSql, String countCommentsSql,
+                                           Map<String, Object> parameters, Mono<T> deletePost) {
+        if (!deletePolicy.isCascade()) {
+            return deleteComments(deleteCommentsSql, parameters).then(deletePost);
+        }
+        return countRows(countCommentsSql, parameters)
+                .flatMap(comments -> {
+                    long started = System.nanoTime();
+                    return deletePost.doOnSuccess(deleted -> repositoryMetrics.recordBulk("comment", "deleteByPost",
+                            comments, Duration.ofNanos(System.nanoTime() - started)));
+                });
+    }
+
+    private Mono<Long> deleteComments(String sql, Map<String, Object> parameters) {
+        Mono<Long> deleted = deletePolicy.isChunked()
+                ? deleteCommentsInChunks(sql + " FETCH FIRST " + deletePolicy.getChunkSize() + " ROWS ONLY", parameters)
+                : executeDelete(sql, parameters);
+        return deleted.elapsed()
+                .doOnNext(timed -> repositoryMetrics.recordBulk("comment", "deleteByPost", timed.getT2(),
+                        Duration.ofMillis(timed.getT1())))
+                .map(Tuple2::getT2);
+    }
+
+    private Mono<Long> deleteCommentsInChunks(String sql, Map<String, Object> parameters) {
+        return executeDelete(sql, parameters)
+                .expand(rows -> rows < deletePolicy.getChunkSize() ? Mono.empty() : executeDelete(sql, parameters))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> executeDelete(String sql, Map<String, Object> parameters) {
+        return bindAll(sql, parameters).fetch().rowsUpdated();
     }
 
+    private Mono<Long> countRows(String sql, Map<String, Object> parameters) {
+        return bindAll(sql, parameters)
+                .map(row -> row.get("cnt", Long.class))
+                .one();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindAll(String sql, Map<String, Object> parameters) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+
+    @Override
+    public List<HotQuery> hotQueries() {
+        return List.of(
+                HotQuery.of("post.findById", FIND_BY_ID_SQL, Map.of("id", 1L)),
+                HotQuery.of("post.findByIdWithComments", FIND_BY_ID_WITH_COMMENTS_SQL, Map.of("id", 1L)),
+                HotQuery.of("post.findRevision", FIND_REVISION_SQL, Map.of("id", 1L)),
+                HotQuery.of("post.findOwnership", FIND_OWNERSHIP_SQL, Map.of("id", 1L)),
+                HotQuery.of("post.findAll", FIND_ALL_SQL, Map.of("afterId", 0L, "limit", 21)));
+    }
 }
@@ -0,0 +1,51 @@
+package com.reactivepractice.post.infrastructure;
+
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.user.domain.User;
+import io.r2dbc.spi.Readable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PostWithCommentsMapper {
+
+    private Post post;
+    private final List<Comment> comments = new ArrayList<>();
+
+    PostWithCommentsMapper fold(Readable row) {
+        if (post == null) {
+            post = Post.builder()
+                    .id((Long) row.get("post_id"))
+                    .title((String) row.get("post_title"))
+                    .contents((String) row.get("post_contents"))
+                    .version((Long) row.get("post_version"))
+                    .user(User.builder()
+                            .id((Long) row.get("writer_id"))
+                            .email((String) row.get("writer_email"))
+                            .name((String) row.get("writer_name"))
+                            .version((Long) row.get("writer_version"))
+                            .build())
+                    .build();
+        }
+        Long commentId = (Long) row.get("comment_id");
+        if (commentId != null) {
+            comments.add(Comment.builder()
+                    .id(commentId)
+                    .contents((String) row.get("comment_contents"))
+                    .version((Long) row.get("comment_version"))
+                    .writer(User.builder()
+                            .id((Long) row.get("comment_writer_id"))
+                            .email((String) row.get("comment_writer_email"))
+                            .name((String) row.get("comment_writer_name"))
+                            .version((Long) row.get("comment_writer_version"))
+                            .build())
+                    .build());
+        }
+        return this;
+    }
+
+    Post toPost() {
+        return post == null ? null : post.from(comments);
+    }
+}
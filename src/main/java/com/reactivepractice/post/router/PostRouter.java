@@ -1,5 +1,6 @@
 package com.reactivepractice.post.router;
 
+import com.reactivepractice.common.RouteMetricsFilter;
 import com.reactivepractice.exception.model.CustomBaseException;
 import com.reactivepractice.exception.handler.ExceptionHandler;
 import com.reactivepractice.post.hadler.PostHandler;
@@ -20,6 +21,7 @@ import static org.springframework.web.reactive.function.server.RequestPredicates
 public class PostRouter {
 
     private final ExceptionHandler exceptionHandler;
+    private final RouteMetricsFilter routeMetricsFilter;
 
     @Bean
     public RouterFunction<ServerResponse> routePosts(PostHandler postHandler){
@@ -31,7 +33,13 @@ public class PostRouter {
                         .PATCH("", postHandler::modify)
                         .GET("/{id}", postHandler::getPost)
                         .DELETE("/{id}", postHandler::delete))
+                        .nest(accept(MediaType.APPLICATION_NDJSON), builder2 -> builder2
+                        .POST("/bulk", postHandler::registerAll)
+                        .GET("", postHandler::streamPosts))
+                        .nest(accept(MediaType.TEXT_EVENT_STREAM), builder2 -> builder2
+                        .GET("", postHandler::streamPostEvents))
                 )
+                .filter(routeMetricsFilter)
                 .filter((request, next) -> next.handle(request)
                         .onErrorResume(CustomBaseException.class, exceptionHandler::handleGlobalException))
                 .build();
@@ -0,0 +1,106 @@
+package com.reactivepractice.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.reactivepractice.post.doamin.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PostAggregateCache {
+
+    private static final int WRITE_STAMPS_PER_ENTRY = 4;
+
+    private final Cache<Long, Post> posts;
+    private final Cache<Long, Long> writeStamps;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong evictedStampFloor = new AtomicLong();
+
+    private PostAggregateCache(Cache<Long, Post> posts, long maxSize) {
+        this.posts = posts;
+        this.writeStamps = posts == null ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize * WRITE_STAMPS_PER_ENTRY)
+                .evictionListener((Long postId, Long stamp, RemovalCause cause) -> {
+                    if (stamp != null && cause.wasEvicted()) {
+                        evictedStampFloor.accumulateAndGet(stamp, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    public static PostAggregateCache disabled() {
+        return new PostAggregateCache(null, 0);
+    }
+
+    public static PostAggregateCache of(Duration ttl, long maxSize, MeterRegistry meterRegistry) {
+        Cache<Long, Post> posts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, posts, "post.aggregate");
+        return new PostAggregateCache(posts, maxSize);
+    }
+
+    public boolean isEnabled() {
+        return posts != null;
+    }
+
+    public Optional<Post> get(Long postId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(posts.getIfPresent(postId));
+    }
+
+    // 조회를 시작하기 전에 받아두는 값. put 할 때 이 값 이후에 쓰기가 있었으면 저장하지 않는다.
+    public long loadStamp() {
+        return clock.get();
+    }
+
+    public void put(Long postId, Post post, long loadStamp) {
+        if (!isEnabled()) {
+            return;
+        }
+        posts.asMap().compute(postId, (id, cached) -> lastWriteOf(id) > loadStamp ? cached : post);
+    }
+
+    // 게시글의 마지막 쓰기 stamp. 진행 중인 조회를 공유할 때 키에 넣어서 쓰기 이후의 요청이
+    // 쓰기 이전에 시작된 조회에 합류하지 않게 한다. 비활성화면 게시글 구분 없이 전체 clock 을 쓴다.
+    public long writeStampOf(Long postId) {
+        return isEnabled() ? lastWriteOf(postId) : clock.get();
+    }
+
+    // 쓰기가 끝난 뒤 호출한다. stamp 기록과 엔트리 제거를 같은 키 잠금 안에서 해서
+    // 쓰기 이전에 시작된 조회가 put 으로 오래된 값을 되살리지 못하게 한다.
+    public void invalidate(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        if (!isEnabled()) {
+            clock.incrementAndGet();
+            return;
+        }
+        posts.asMap().compute(postId, (id, cached) -> {
+            writeStamps.put(id, clock.incrementAndGet());
+            return null;
+        });
+    }
+
+    private long lastWriteOf(Long postId) {
+        Long stamp = writeStamps.getIfPresent(postId);
+        return stamp != null ? stamp : evictedStampFloor.get();
+    }
+
+    public long hitCount() {
+        return isEnabled() ? posts.stats().hitCount() : 0;
+    }
+
+    public long missCount() {
+        return isEnabled() ? posts.stats().missCount() : 0;
+    }
+}
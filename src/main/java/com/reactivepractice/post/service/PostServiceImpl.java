@@ -1,29 +1,46 @@
 package com.reactivepractice.post.service;
 
-import com.reactivepractice.comment.service.port.CommentRepository;
+import com.reactivepractice.common.BulkChunker;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.SingleFlight;
+import com.reactivepractice.exception.model.ConflictException;
 import com.reactivepractice.exception.model.ErrorCode;
 import com.reactivepractice.exception.model.ForbiddenException;
 import com.reactivepractice.exception.model.NotFoundException;
-import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.post.doamin.PostBulkRequest;
 import com.reactivepractice.post.doamin.PostRequest;
 import com.reactivepractice.post.hadler.port.PostService;
 import com.reactivepractice.post.service.port.PostRepository;
+import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.service.port.UserRepository;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Builder
+@Slf4j
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
+    private final SingleFlight<Tuple2<Long, Long>, Post> postLoads;
+    private final PostAggregateCache postCache;
+    private final BulkChunker bulkChunker;
 
     @Override
     public Mono<Post> register(PostRequest request, Long userId) {
@@ -35,47 +52,101 @@ public class PostServiceImpl implements PostService {
                 .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)));
     }
 
+    // 작성자는 단건 등록과 같이 로그인 회원으로 정하고, 요청 본문에서 받지 않는다.
+    @Override
+    public Flux<BulkResult> registerAll(Flux<PostBulkRequest> requests, Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)))
+                .flatMapMany(writer -> bulkChunker.process(requests, chunk -> registerChunk(chunk, writer)));
+    }
+
+    // 묶음 안에서 내용을 검사해 통과한 항목만 한 번의 batch insert 로 저장한다.
+    private Flux<BulkResult> registerChunk(List<Tuple2<Long, PostBulkRequest>> chunk, User writer) {
+        List<Tuple2<Long, Post>> accepted = new ArrayList<>();
+        List<BulkResult> rejected = new ArrayList<>();
+        for (Tuple2<Long, PostBulkRequest> item : chunk) {
+            PostBulkRequest request = item.getT2();
+            if (!StringUtils.hasText(request.getTitle()) || !StringUtils.hasText(request.getContents())) {
+                rejected.add(BulkResult.rejected(item.getT1(), ErrorCode.BAD_REQUEST));
+            } else {
+                accepted.add(Tuples.of(item.getT1(), request.toModel(writer)));
+            }
+        }
+        return postRepository.saveAll(accepted.stream().map(Tuple2::getT2).toList())
+                .collectList()
+                .flatMapMany(saved -> Flux.fromIterable(saved)
+                        .zipWithIterable(accepted, (post, item) -> BulkResult.created(item.getT1(), post.getId())))
+                .onErrorResume(throwable -> {
+                    log.warn("bulk insert of {} posts from index {} failed", accepted.size(),
+                            accepted.isEmpty() ? null : accepted.get(0).getT1(), throwable);
+                    return Flux.fromIterable(accepted)
+                            .map(item -> BulkResult.rejected(item.getT1(), ErrorCode.INTERNAL_SERVER_ERROR));
+                })
+                .concatWith(Flux.fromIterable(rejected))
+                .sort(Comparator.comparingLong(BulkResult::getIndex));
+    }
+
     @Override
     public Mono<Post> getPost(Long postId) {
-        return postRepository.findById(postId)
-                .flatMap(p ->
-                        commentRepository.findByPostId(p.getId())
-                                .collectList()
-                                .log()
-                                .map(p::from))
+        return Mono.defer(() -> postCache.get(postId)
+                        .map(Mono::just)
+                        .orElseGet(() -> postLoads.execute(Tuples.of(postId, postCache.writeStampOf(postId)),
+                                key -> loadPost(key.getT1()))))
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)));
+    }
+
+    // 캐시에 있으면 그 집합체의 revision 을, 없으면 집합체를 만들지 않고 버전만 집계해서 돌려준다.
+    @Override
+    public Mono<String> getPostRevision(Long postId) {
+        return Mono.defer(() -> postCache.get(postId)
+                        .map(post -> Mono.just(post.revision()))
+                        .orElseGet(() -> postRepository.findRevision(postId)))
                 .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)));
     }
 
+    private Mono<Post> loadPost(Long postId) {
+        return Mono.defer(() -> {
+            long loadStamp = postCache.loadStamp();
+            return postRepository.findByIdWithComments(postId)
+                    .doOnNext(post -> postCache.put(postId, post, loadStamp));
+        });
+    }
+
+    @Override
+    public Mono<CursorPage<Post>> getPosts(CursorRequest cursorRequest) {
+        return postRepository.findAll(cursorRequest.afterOrZero(), cursorRequest.getLimit() + 1)
+                .collectList()
+                .map(posts -> CursorPage.of(posts, cursorRequest.getLimit(), Post::getId));
+    }
+
     @Override
-    public Flux<Post> getAllPosts() {
-        return postRepository.findAll();
+    public Flux<Post> streamPosts(long afterId) {
+        return postRepository.streamAll(afterId);
     }
 
+    // 작성자와 버전 조건을 UPDATE 한 문장에 넣는다. 0건일 때만 원인을 다시 조회해서 에러를 고른다.
     @Override
     public Mono<Post> modify(PostRequest request, Long userId) {
-        return userRepository.findById(userId)
-                .flatMap(user ->
-                        postRepository.findById(request.getId())
-                                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)))
-                                .filter(post -> post.matchWriter(user))
-                                .switchIfEmpty(Mono.error(new UnauthorizedException()))
-                                .flatMap(post ->  postRepository.save(Post.from(request, user)))
-                                .flatMap(p -> Mono.just(p.from(user)))
-                )
-                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)));
+        User writer = User.builder().id(userId).build();
+        return postRepository.update(Post.from(request, writer))
+                .switchIfEmpty(Mono.defer(() -> ownershipFailure(request.getId(), writer)))
+                .doOnTerminate(() -> postCache.invalidate(request.getId()));
+    }
+
+    private Mono<Post> ownershipFailure(Long postId, User writer) {
+        return postRepository.findOwnership(postId)
+                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)))
+                .flatMap(post -> post.matchWriter(writer)
+                        ? Mono.error(new ConflictException())
+                        : Mono.error(new ForbiddenException()));
     }
 
     @Override
     public Mono<Void> delete(Long postId, Long userId) {
-        return userRepository.findById(userId)
-                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER)))
-                .flatMap(user ->
-                        postRepository.findById(postId)
-                                .switchIfEmpty(Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_POST)))
-                                .filter(post -> post.matchWriter(user))
-                                .switchIfEmpty(Mono.error(new ForbiddenException()))
-                                .flatMap(post ->  postRepository.deleteById(postId))
-                );
+        return postRepository.deleteOwned(postId, userId)
+                .switchIfEmpty(Mono.defer(() -> ownershipFailure(postId, User.builder().id(userId).build())))
+                .doOnTerminate(() -> postCache.invalidate(postId))
+                .then();
     }
 
 }
@@ -4,13 +4,32 @@ import com.reactivepractice.post.doamin.Post;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface PostRepository {
 
     Mono<Post> save(Post post);
 
+    Flux<Post> saveAll(List<Post> posts);
+
     Mono<Post> findById(Long id);
 
-    Flux<Post> findAll();
+    Flux<Long> findExistingIds(Collection<Long> ids);
+
+    Mono<Post> findByIdWithComments(Long id);
+
+    Mono<String> findRevision(Long id);
+
+    Mono<Post> findOwnership(Long id);
+
+    Mono<Post> update(Post post);
+
+    Flux<Post> findAll(long afterId, int limit);
+
+    Flux<Post> streamAll(long afterId);
 
     Mono<Void> deleteById(Long id);
+
+    Mono<Post> deleteOwned(Long id, Long userId);
 }
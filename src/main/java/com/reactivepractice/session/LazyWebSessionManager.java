@@ -0,0 +1,150 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.WebSessionIdResolver;
+import org.springframework.web.server.session.WebSessionManager;
+import org.springframework.web.server.session.WebSessionStore;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 세션 id 를 가져오지 않은 요청에는 저장소에 세션을 만들지 않고 비어 있는 세션을 돌려준다.
+// 로그인처럼 SessionUtils.createSession 으로 요청하면 바로 만들고, 그 밖에는 속성을 처음 쓸 때까지 미룬다.
+public class LazyWebSessionManager implements WebSessionManager {
+
+    private final WebSessionManager delegate;
+    private final WebSessionStore sessionStore;
+    private final WebSessionIdResolver sessionIdResolver;
+    private final Counter avoided;
+
+    public LazyWebSessionManager(WebSessionManager delegate, WebSessionStore sessionStore, WebSessionIdResolver sessionIdResolver,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.sessionStore = sessionStore;
+        this.sessionIdResolver = sessionIdResolver;
+        this.avoided = Counter.builder("session.creation.avoided").register(meterRegistry);
+    }
+
+    // DefaultServerWebExchange 가 생성 시점에 호출하므로 판단은 구독할 때까지 미룬다.
+    @Override
+    public Mono<WebSession> getSession(ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            if (exchange.getAttribute(SessionUtils.CREATE_SESSION_ATTRIBUTE) == null
+                    && sessionIdResolver.resolveSessionIds(exchange).isEmpty()) {
+                avoided.increment();
+                LazyWebSession session = new LazyWebSession(exchange, sessionStore, sessionIdResolver);
+                exchange.getResponse().beforeCommit(session::save);
+                return Mono.just(session);
+            }
+            return delegate.getSession(exchange);
+        });
+    }
+
+    public double avoidedCount() {
+        return avoided.count();
+    }
+
+    // 속성이 쓰이거나 start() 가 불리기 전까지는 저장소에 세션을 만들지 않는다.
+    // 먼저 getSession 을 구독한 코드가 나중에 로그인 정보를 써도 되도록, 응답을 보내기 직전에
+    // 그때 쓰인 속성으로 실제 세션을 만들어 저장하고 세션 쿠키를 내려준다. 손대지 않은 세션은 저장만 건너뛴다.
+    private static class LazyWebSession implements WebSession {
+
+        private final ServerWebExchange exchange;
+        private final WebSessionIdResolver sessionIdResolver;
+        private final Mono<WebSession> created;
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private final Instant creationTime = Instant.now();
+        private volatile Duration maxIdleTime;
+        private volatile boolean started;
+        private volatile boolean invalidated;
+
+        private LazyWebSession(ServerWebExchange exchange, WebSessionStore sessionStore, WebSessionIdResolver sessionIdResolver) {
+            this.exchange = exchange;
+            this.sessionIdResolver = sessionIdResolver;
+            this.created = Mono.defer(sessionStore::createWebSession).cache();
+        }
+
+        @Override
+        public String getId() {
+            return "";
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public void start() {
+            started = true;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !invalidated && (started || !attributes.isEmpty());
+        }
+
+        // 아직 저장소에 id 가 없으므로 바꿀 것이 없다. 저장할 때 새 id 로 만들어진다.
+        @Override
+        public Mono<Void> changeSessionId() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> invalidate() {
+            invalidated = true;
+            attributes.clear();
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> save() {
+            return Mono.defer(() -> {
+                if (!isStarted()) {
+                    return Mono.empty();
+                }
+                return created.flatMap(session -> {
+                    if (maxIdleTime != null) {
+                        session.setMaxIdleTime(maxIdleTime);
+                    }
+                    session.getAttributes().putAll(attributes);
+                    session.start();
+                    sessionIdResolver.setSessionId(exchange, session.getId());
+                    return session.save();
+                });
+            });
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public Instant getLastAccessTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        @Override
+        public Duration getMaxIdleTime() {
+            return maxIdleTime != null ? maxIdleTime : Duration.ZERO;
+        }
+    }
+}
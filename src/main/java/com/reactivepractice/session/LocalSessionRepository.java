@@ -0,0 +1,239 @@
+package com.reactivepractice.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.session.MapSession;
+import org.springframework.session.ReactiveSessionRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 한 노드에서만 쓰는 세션 저장소. 만료는 Caffeine 의 가변 만료(timer wheel)에 맡기고,
+// 세션 수가 max-sessions 를 넘으면 Caffeine 의 크기 정책(W-TinyLFU, 최근성과 빈도를 같이 본다)으로 내보낸다.
+// 직렬화한 속성은 SlabAllocator 의 off-heap 블록에 두어서 대기 중인 세션이 많아도 힙과 GC 부담이 늘지 않게 한다.
+public class LocalSessionRepository implements ReactiveSessionRepository<TrackedSession>, PrincipalSessionRepository {
+
+    static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private final Cache<String, StoredSession> sessions;
+    private final ConcurrentMap<Long, Set<String>> sessionIdsByPrincipal;
+    private final Duration defaultMaxInactiveInterval;
+    private final SlabAllocator slabs;
+
+    private LocalSessionRepository(Cache<String, StoredSession> sessions, ConcurrentMap<Long, Set<String>> sessionIdsByPrincipal,
+                                   Duration defaultMaxInactiveInterval, SlabAllocator slabs) {
+        this.sessions = sessions;
+        this.sessionIdsByPrincipal = sessionIdsByPrincipal;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.slabs = slabs;
+    }
+
+    public static LocalSessionRepository of(Duration defaultMaxInactiveInterval, long maxSessions, MeterRegistry meterRegistry) {
+        return of(defaultMaxInactiveInterval, maxSessions, DEFAULT_SLAB_SIZE, meterRegistry);
+    }
+
+    public static LocalSessionRepository of(Duration defaultMaxInactiveInterval, long maxSessions, int slabSize,
+                                            MeterRegistry meterRegistry) {
+        SlabAllocator slabs = SlabAllocator.of(slabSize);
+        ConcurrentMap<Long, Set<String>> sessionIdsByPrincipal = new ConcurrentHashMap<>();
+        Counter evictions = Counter.builder("session.store.evictions").register(meterRegistry);
+        Counter expirations = Counter.builder("session.store.expirations").register(meterRegistry);
+        Cache<String, StoredSession> sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfter(new SessionExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                // removal listener 는 블록 반환과 카운터만 하므로 호출한 스레드에서 바로 돌려서 블록이 늦게 돌아오지 않게 한다.
+                // 같은 엔트리를 그대로 돌려주는 compute 는 REPLACED 로 알리지 않으므로 살아 있는 블록을 반환하지 않는다.
+                .executor(Runnable::run)
+                .removalListener((String id, StoredSession stored, RemovalCause cause) -> {
+                    if (stored != null) {
+                        slabs.release(stored.attributes);
+                        if (cause != RemovalCause.REPLACED) {
+                            unindex(sessionIdsByPrincipal, stored);
+                        }
+                    }
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    } else if (cause == RemovalCause.EXPIRED) {
+                        expirations.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("session.store.live", sessions, Cache::estimatedSize).register(meterRegistry);
+        Gauge.builder("session.store.bytes", slabs, SlabAllocator::usedBytes).register(meterRegistry);
+        Gauge.builder("session.store.slab.bytes", slabs, SlabAllocator::reservedBytes).register(meterRegistry);
+        return new LocalSessionRepository(sessions, sessionIdsByPrincipal, defaultMaxInactiveInterval, slabs);
+    }
+
+    @Override
+    public Mono<TrackedSession> createSession() {
+        return Mono.fromSupplier(() -> TrackedSession.create(defaultMaxInactiveInterval));
+    }
+
+    // 접근 시각만 바뀌었으면 같은 엔트리를 그대로 돌려줘서 속성을 다시 직렬화하지 않고 만료 시각만 늦춘다.
+    @Override
+    public Mono<Void> save(TrackedSession session) {
+        return Mono.fromRunnable(() -> {
+            if (session.isTouchOnly()) {
+                sessions.asMap().computeIfPresent(session.getId(), (id, stored) -> {
+                    stored.lastAccessedTime = session.getLastAccessedTime();
+                    return stored;
+                });
+                return;
+            }
+            if (session.isIdChanged()) {
+                sessions.invalidate(session.getOriginalId());
+            }
+            StoredSession stored = StoredSession.from(session, slabs);
+            if (stored.principalId != null) {
+                sessionIdsByPrincipal.computeIfAbsent(stored.principalId, id -> ConcurrentHashMap.newKeySet()).add(stored.id);
+            }
+            sessions.put(session.getId(), stored);
+            session.markSaved();
+        });
+    }
+
+    // 읽는 사이 같은 id 로 다시 저장되어 블록이 반환됐으면 새 엔트리로 다시 읽는다.
+    @Override
+    public Mono<TrackedSession> findById(String id) {
+        return Mono.fromSupplier(() -> {
+            while (true) {
+                StoredSession stored = sessions.getIfPresent(id);
+                if (stored == null) {
+                    return null;
+                }
+                TrackedSession session = stored.toSession(slabs);
+                if (session != null) {
+                    return session;
+                }
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> sessions.invalidate(id));
+    }
+
+    // 색인에 남은 id 가 이미 다른 회원의 세션으로 바뀌었을 수 있으므로 회원 id 가 같은 경우에만 지운다.
+    @Override
+    public Mono<Long> deleteByPrincipalId(Long principalId) {
+        return Mono.fromSupplier(() -> {
+            Set<String> ids = sessionIdsByPrincipal.remove(principalId);
+            if (ids == null) {
+                return 0L;
+            }
+            long deleted = 0;
+            for (String id : ids) {
+                boolean[] removed = new boolean[1];
+                sessions.asMap().computeIfPresent(id, (key, stored) -> {
+                    removed[0] = principalId.equals(stored.principalId);
+                    return removed[0] ? null : stored;
+                });
+                deleted += removed[0] ? 1 : 0;
+            }
+            return deleted;
+        });
+    }
+
+    public long sessionCount() {
+        sessions.cleanUp();
+        return sessions.estimatedSize();
+    }
+
+    public long bytesUsed() {
+        return slabs.usedBytes();
+    }
+
+    private static void unindex(ConcurrentMap<Long, Set<String>> sessionIdsByPrincipal, StoredSession stored) {
+        if (stored.principalId == null) {
+            return;
+        }
+        sessionIdsByPrincipal.computeIfPresent(stored.principalId, (principalId, ids) -> {
+            ids.remove(stored.id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static class StoredSession {
+        private final String id;
+        private final Long principalId;
+        private final Instant creationTime;
+        private final Duration maxInactiveInterval;
+        private final SlabAllocator.Block attributes;
+        private volatile Instant lastAccessedTime;
+
+        private StoredSession(String id, Long principalId, Instant creationTime, Instant lastAccessedTime,
+                              Duration maxInactiveInterval, SlabAllocator.Block attributes) {
+            this.id = id;
+            this.principalId = principalId;
+            this.creationTime = creationTime;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.attributes = attributes;
+        }
+
+        static StoredSession from(TrackedSession session, SlabAllocator slabs) {
+            Map<String, Object> values = new HashMap<>();
+            for (String name : session.getAttributeNames()) {
+                values.put(name, session.getAttribute(name));
+            }
+            SlabAllocator.Block attributes = slabs.store(SessionAttributes.encode(values));
+            return new StoredSession(session.getId(), session.getPrincipalId(), session.getCreationTime(), session.getLastAccessedTime(),
+                    session.getMaxInactiveInterval(), attributes);
+        }
+
+        // 블록이 이미 반환됐으면 null 을 돌려준다.
+        TrackedSession toSession(SlabAllocator slabs) {
+            byte[] bytes = slabs.load(attributes);
+            if (bytes == null) {
+                return null;
+            }
+            MapSession session = new MapSession(id);
+            session.setCreationTime(creationTime);
+            session.setLastAccessedTime(lastAccessedTime);
+            session.setMaxInactiveInterval(maxInactiveInterval);
+            SessionAttributes.decode(bytes).forEach(session::setAttribute);
+            return TrackedSession.loaded(session);
+        }
+
+        long nanosUntilExpiry() {
+            if (maxInactiveInterval.isNegative()) {
+                return Long.MAX_VALUE;
+            }
+            Duration remaining = Duration.between(Instant.now(), lastAccessedTime.plus(maxInactiveInterval));
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+    }
+
+    // 저장할 때마다 마지막 접근 시각 기준으로 남은 시간을 다시 잡고, 조회는 만료 시각을 바꾸지 않는다.
+    private static class SessionExpiry implements Expiry<String, StoredSession> {
+
+        @Override
+        public long expireAfterCreate(String id, StoredSession stored, long currentTime) {
+            return stored.nanosUntilExpiry();
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, StoredSession stored, long currentTime, long currentDuration) {
+            return stored.nanosUntilExpiry();
+        }
+
+        @Override
+        public long expireAfterRead(String id, StoredSession stored, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
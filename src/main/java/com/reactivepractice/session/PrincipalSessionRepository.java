@@ -0,0 +1,7 @@
+package com.reactivepractice.session;
+
+import reactor.core.publisher.Mono;
+
+public interface PrincipalSessionRepository {
+    Mono<Long> deleteByPrincipalId(Long principalId);
+}
@@ -0,0 +1,340 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.HotQuery;
+import com.reactivepractice.common.HotQuerySource;
+import com.reactivepractice.common.RepositoryMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.session.MapSession;
+import org.springframework.session.ReactiveSessionRepository;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+public class R2dbcSessionRepository implements ReactiveSessionRepository<TrackedSession>, PrincipalSessionRepository, HotQuerySource {
+
+    static final String INSERT_SQL = """
+            INSERT INTO sessions (id, principal_id, creation_time, last_accessed_time, max_inactive_interval, expiry_time, attributes)
+            VALUES (:id, :principalId, :creationTime, :lastAccessedTime, :maxInactiveInterval, :expiryTime, :attributes)
+            """;
+    static final String UPDATE_SQL = """
+            UPDATE sessions
+            SET id = :id, principal_id = :principalId, last_accessed_time = :lastAccessedTime, max_inactive_interval = :maxInactiveInterval,
+                expiry_time = :expiryTime, attributes = :attributes
+            WHERE id = :originalId
+            """;
+    // 다른 노드가 더 최근 시각을 이미 썼으면 덮어쓰지 않는다.
+    static final String TOUCH_SQL = """
+            UPDATE sessions SET last_accessed_time = $1, expiry_time = $2
+            WHERE id = $3 AND last_accessed_time < $1
+            """;
+    static final String FIND_BY_ID_SQL = """
+            SELECT id, creation_time, last_accessed_time, max_inactive_interval, attributes
+            FROM sessions
+            WHERE id = :id AND expiry_time >= :cutoff
+            """;
+    static final String DELETE_BY_ID_SQL = "DELETE FROM sessions WHERE id = :id";
+    static final String DELETE_BY_PRINCIPAL_ID_SQL = "DELETE FROM sessions WHERE principal_id = :principalId";
+    static final String SWEEP_SQL = "DELETE FROM sessions WHERE expiry_time < :cutoff";
+    // schema.sql 의 sessions.attributes 컬럼 크기와 맞춘다.
+    static final int MAX_ATTRIBUTES_BYTES = 8192;
+
+    private final DatabaseClient databaseClient;
+    private final RepositoryMetrics repositoryMetrics;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration flushInterval;
+    private final int flushBatchSize;
+    private final Duration sweepInterval;
+    private final int sweepChunkSize;
+    private final String sweepChunkSql;
+    private final ConcurrentMap<String, Touch> pendingTouches = new ConcurrentHashMap<>();
+    private final Counter flushedTouches;
+    private final Disposable.Composite tasks = Disposables.composite();
+
+    @Builder
+    private R2dbcSessionRepository(DatabaseClient databaseClient, RepositoryMetrics repositoryMetrics, MeterRegistry meterRegistry,
+                                   Duration defaultMaxInactiveInterval, Duration flushInterval, int flushBatchSize,
+                                   Duration sweepInterval, int sweepChunkSize) {
+        this.databaseClient = databaseClient;
+        this.repositoryMetrics = repositoryMetrics;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+        this.sweepInterval = sweepInterval;
+        this.sweepChunkSize = sweepChunkSize;
+        this.sweepChunkSql = SWEEP_SQL + " FETCH FIRST " + sweepChunkSize + " ROWS ONLY";
+        this.flushedTouches = Counter.builder("session.store.touches.flushed").register(meterRegistry);
+        Gauge.builder("session.store.touches.pending", pendingTouches, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    public void start() {
+        tasks.add(Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush()
+                        .onErrorResume(e -> {
+                            log.warn("could not flush session writes: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+        tasks.add(Flux.interval(sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweepExpired()
+                        .onErrorResume(e -> {
+                            log.warn("could not sweep expired sessions: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+        log.info("r2dbc session store flush-interval={}, sweep-interval={}", flushInterval, sweepInterval);
+    }
+
+    // 종료 전에 남은 touch 를 반영해서 재시작 후에도 접근 시각이 이어지게 한다.
+    public void close() {
+        tasks.dispose();
+        flush().onErrorResume(e -> {
+                    log.warn("could not flush session writes on close: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Override
+    public Mono<TrackedSession> createSession() {
+        return Mono.fromSupplier(() -> TrackedSession.create(defaultMaxInactiveInterval));
+    }
+
+    // 접근 시각만 바뀐 저장은 요청마다 쓰지 않고 모아뒀다가 flush 에서 한 번의 batch 로 반영한다.
+    @Override
+    public Mono<Void> save(TrackedSession session) {
+        return Mono.defer(() -> {
+            if (session.isTouchOnly()) {
+                pendingTouches.merge(session.getId(), Touch.of(session), Touch::latest);
+                return pendingTouches.size() >= flushBatchSize ? flush().then() : Mono.empty();
+            }
+            pendingTouches.remove(session.getOriginalId());
+            Mono<Long> write = session.isNew() ? insert(session) : update(session);
+            return write.doOnNext(rows -> session.markSaved()).then();
+        });
+    }
+
+    @Override
+    public Mono<TrackedSession> findById(String id) {
+        return repositoryMetrics.timed("session", "findById",
+                databaseClient.sql(FIND_BY_ID_SQL)
+                        .bind("id", id)
+                        .bind("cutoff", cutoff())
+                        .map(this::toSession)
+                        .one());
+    }
+
+    // 로그아웃한 세션이 다른 노드에서 살아 있으면 안 되므로 삭제는 모으지 않고 바로 지운다.
+    // 만료된 세션을 모아서 지우는 일은 sweepExpired 가 맡는다.
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.defer(() -> {
+            pendingTouches.remove(id);
+            return repositoryMetrics.timed("session", "deleteById",
+                    databaseClient.sql(DELETE_BY_ID_SQL)
+                            .bind("id", id)
+                            .fetch()
+                            .rowsUpdated());
+        }).then();
+    }
+
+    // 비밀번호 변경처럼 바로 반영돼야 하는 경우라서 대기 없이 한 문장으로 지운다.
+    @Override
+    public Mono<Long> deleteByPrincipalId(Long principalId) {
+        return repositoryMetrics.timed("session", "deleteByPrincipalId",
+                databaseClient.sql(DELETE_BY_PRINCIPAL_ID_SQL)
+                        .bind("principalId", principalId)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    public Mono<Long> flush() {
+        return flushTouches();
+    }
+
+    // batch 하나가 실패해도 나머지 batch 는 계속 반영한다. 실패한 touch 는 다시 대기 목록에 넣어서
+    // 그 사이 들어온 더 최근 touch 와 합친 뒤 다음 flush 때 다시 쓴다.
+    private Mono<Long> flushTouches() {
+        return Mono.defer(() -> {
+            List<Map.Entry<String, Touch>> drained = new ArrayList<>();
+            for (String id : pendingTouches.keySet()) {
+                Touch touch = pendingTouches.remove(id);
+                if (touch != null) {
+                    drained.add(Map.entry(id, touch));
+                }
+            }
+            if (drained.isEmpty()) {
+                return Mono.just(0L);
+            }
+            return Flux.fromIterable(drained)
+                    .buffer(flushBatchSize)
+                    .concatMap(batch -> executeTouches(batch)
+                            .doOnNext(rows -> flushedTouches.increment(batch.size()))
+                            .onErrorResume(e -> {
+                                log.warn("could not flush {} session touches: {}", batch.size(), e.getMessage());
+                                batch.forEach(touch -> pendingTouches.merge(touch.getKey(), touch.getValue(), Touch::latest));
+                                return Mono.just(0L);
+                            }))
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    // 다른 노드에 아직 flush 되지 않은 touch 가 있을 수 있으므로 flush-interval 만큼 여유를 두고 지운다.
+    public Mono<Long> sweepExpired() {
+        return Mono.defer(() -> {
+            long cutoff = cutoff();
+            return executeSweep(cutoff)
+                    .expand(rows -> rows < sweepChunkSize ? Mono.empty() : executeSweep(cutoff))
+                    .reduce(0L, Long::sum)
+                    .elapsed()
+                    .doOnNext(timed -> repositoryMetrics.recordBulk("session", "sweepExpired", timed.getT2(),
+                            Duration.ofMillis(timed.getT1())))
+                    .map(timed -> timed.getT2());
+        });
+    }
+
+    @Override
+    public List<HotQuery> hotQueries() {
+        return List.of(
+                HotQuery.of("session.findById", FIND_BY_ID_SQL, Map.of("id", "", "cutoff", 0L)),
+                HotQuery.of("session.deleteById", DELETE_BY_ID_SQL, Map.of("id", "")),
+                HotQuery.of("session.sweepExpired", SWEEP_SQL, Map.of("cutoff", 0L)),
+                HotQuery.of("session.deleteByPrincipalId", DELETE_BY_PRINCIPAL_ID_SQL, Map.of("principalId", 0L)));
+    }
+
+    private Mono<Long> insert(TrackedSession session) {
+        return repositoryMetrics.timed("session", "insert",
+                bindPrincipalId(databaseClient.sql(INSERT_SQL), session)
+                        .bind("id", session.getId())
+                        .bind("creationTime", session.getCreationTime().toEpochMilli())
+                        .bind("lastAccessedTime", session.getLastAccessedTime().toEpochMilli())
+                        .bind("maxInactiveInterval", session.getMaxInactiveInterval().toSeconds())
+                        .bind("expiryTime", session.getExpiryTime())
+                        .bind("attributes", ByteBuffer.wrap(encodeAttributes(session)))
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    private Mono<Long> update(TrackedSession session) {
+        return repositoryMetrics.timed("session", "update",
+                bindPrincipalId(databaseClient.sql(UPDATE_SQL), session)
+                        .bind("id", session.getId())
+                        .bind("lastAccessedTime", session.getLastAccessedTime().toEpochMilli())
+                        .bind("maxInactiveInterval", session.getMaxInactiveInterval().toSeconds())
+                        .bind("expiryTime", session.getExpiryTime())
+                        .bind("attributes", ByteBuffer.wrap(encodeAttributes(session)))
+                        .bind("originalId", session.getOriginalId())
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindPrincipalId(DatabaseClient.GenericExecuteSpec spec, TrackedSession session) {
+        Long principalId = session.getPrincipalId();
+        return principalId == null ? spec.bindNull("principalId", Long.class) : spec.bind("principalId", principalId);
+    }
+
+    private Mono<Long> executeTouches(List<Map.Entry<String, Touch>> touches) {
+        return repositoryMetrics.timed("session", "touchAll",
+                databaseClient.inConnectionMany(connection -> {
+                            Statement statement = connection.createStatement(TOUCH_SQL);
+                            for (int i = 0; i < touches.size(); i++) {
+                                if (i > 0) {
+                                    statement.add();
+                                }
+                                Map.Entry<String, Touch> touch = touches.get(i);
+                                statement.bind(0, touch.getValue().lastAccessedTime)
+                                        .bind(1, touch.getValue().expiryTime)
+                                        .bind(2, touch.getKey());
+                            }
+                            return Flux.from(statement.execute())
+                                    .concatMap(result -> Mono.from(result.getRowsUpdated()));
+                        })
+                        .reduce(0L, Long::sum));
+    }
+
+    private Mono<Long> executeSweep(long cutoff) {
+        return databaseClient.sql(sweepChunkSql)
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private long cutoff() {
+        return Instant.now().minus(flushInterval).toEpochMilli();
+    }
+
+    private TrackedSession toSession(Readable row) {
+        MapSession session = new MapSession(row.get("id", String.class));
+        session.setCreationTime(Instant.ofEpochMilli(row.get("creation_time", Long.class)));
+        session.setMaxInactiveInterval(Duration.ofSeconds(row.get("max_inactive_interval", Long.class)));
+        long lastAccessedTime = row.get("last_accessed_time", Long.class);
+        Touch pending = pendingTouches.get(session.getId());
+        if (pending != null) {
+            lastAccessedTime = Math.max(lastAccessedTime, pending.lastAccessedTime);
+        }
+        session.setLastAccessedTime(Instant.ofEpochMilli(lastAccessedTime));
+        ByteBuffer attributes = row.get("attributes", ByteBuffer.class);
+        if (attributes != null) {
+            byte[] encoded = new byte[attributes.remaining()];
+            attributes.get(encoded);
+            SessionAttributes.decode(encoded).forEach(session::setAttribute);
+        }
+        return TrackedSession.loaded(session);
+    }
+
+    // 컬럼보다 큰 속성은 DB 의 잘림 오류 대신 어떤 세션이 얼마나 넘었는지 알 수 있는 오류로 바꾼다.
+    private byte[] encodeAttributes(TrackedSession session) {
+        byte[] encoded = SessionAttributes.encode(attributesOf(session));
+        if (encoded.length > MAX_ATTRIBUTES_BYTES) {
+            throw new IllegalArgumentException("session attributes too large: " + encoded.length
+                    + " bytes (max " + MAX_ATTRIBUTES_BYTES + ") for session " + session.getId());
+        }
+        return encoded;
+    }
+
+    private Map<String, Object> attributesOf(TrackedSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return attributes;
+    }
+
+    private static final class Touch {
+        private final long lastAccessedTime;
+        private final long expiryTime;
+
+        private Touch(long lastAccessedTime, long expiryTime) {
+            this.lastAccessedTime = lastAccessedTime;
+            this.expiryTime = expiryTime;
+        }
+
+        static Touch of(TrackedSession session) {
+            return new Touch(session.getLastAccessedTime().toEpochMilli(), session.getExpiryTime());
+        }
+
+        static Touch latest(Touch a, Touch b) {
+            return a.lastAccessedTime >= b.lastAccessedTime ? a : b;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.user.handler.response.UserResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// 세션 속성을 저장용 바이트로 바꾼다. 자주 쓰는 타입은 태그 1바이트 + 값으로 적고,
+// 나머지 Serializable 값만 자바 직렬화로 넘긴다.
+public class SessionAttributes {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    // 자바 직렬화로 읽는 값은 JDK 기본 값 타입과 이 애플리케이션 클래스만 허용한다.
+    // 저장소 바이트가 조작돼도 다른 라이브러리 클래스를 만들지 못하게 나머지는 전부 거절한다.
+    private static final ObjectInputFilter SERIALIZED_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=8;maxrefs=1024;maxarray=4096;maxbytes=8192;"
+                    + "java.lang.*;java.util.*;java.time.*;java.math.*;com.reactivepractice.**;!*");
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte USER = 5;
+    private static final byte SERIALIZED = 6;
+
+    public static byte[] encode(Map<String, Object> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(attributes.size());
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                writeValue(out, attribute.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Map<String, Object> decode(byte[] encoded) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (encoded == null || encoded.length == 0) {
+            return attributes;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("unknown session attribute format: " + version);
+            }
+            int size = in.readUnsignedShort();
+            for (int i = 0; i < size; i++) {
+                attributes.put(in.readUTF(), readValue(in));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return attributes;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            out.writeUTF(string);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(flag);
+        } else if (value instanceof UserResponse user) {
+            out.writeByte(USER);
+            writeNullableLong(out, user.getId());
+            writeNullableString(out, user.getEmail());
+            writeNullableString(out, user.getName());
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("session attribute is not serializable: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> in.readUTF();
+            case LONG -> in.readLong();
+            case INTEGER -> in.readInt();
+            case BOOLEAN -> in.readBoolean();
+            case USER -> UserResponse.builder()
+                    .id(readNullableLong(in))
+                    .email(readNullableString(in))
+                    .name(readNullableString(in))
+                    .build();
+            case SERIALIZED -> readSerialized(in);
+            default -> throw new IllegalArgumentException("unknown session attribute tag: " + tag);
+        };
+    }
+
+    private static Object readSerialized(DataInputStream in) throws IOException {
+        byte[] serialized = new byte[in.readInt()];
+        in.readFully(serialized);
+        try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            objectIn.setObjectInputFilter(SERIALIZED_FILTER);
+            return objectIn.readObject();
+        } catch (InvalidClassException e) {
+            throw new IllegalArgumentException("session attribute class is not allowed: " + e.classname, e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("unknown session attribute class", e);
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
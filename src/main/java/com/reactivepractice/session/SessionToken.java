@@ -0,0 +1,32 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.user.handler.response.UserResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class SessionToken {
+    private final long tokenId;
+    private final Long userId;
+    private final String email;
+    private final String name;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public UserResponse toUser() {
+        return UserResponse.builder()
+                .id(userId)
+                .email(email)
+                .name(name)
+                .build();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
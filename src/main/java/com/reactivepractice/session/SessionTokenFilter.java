@@ -0,0 +1,44 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+// 토큰이 유효하면 exchange 속성에 올려둬서 SessionUtils 가 WebSession 을 꺼내지 않고 로그인 사용자를 얻게 한다.
+// 토큰이 없거나 유효하지 않으면 아무것도 하지 않으므로 기존 세션 로그인은 그대로 동작한다.
+public class SessionTokenFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionTokens sessionTokens;
+
+    public SessionTokenFilter(SessionTokens sessionTokens) {
+        this.sessionTokens = sessionTokens;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (sessionTokens.isEnabled()) {
+            tokenOf(exchange.getRequest())
+                    .flatMap(sessionTokens::verify)
+                    .ifPresent(token -> exchange.getAttributes().put(SessionUtils.LOGIN_TOKEN_ATTRIBUTE, token));
+        }
+        return chain.filter(exchange);
+    }
+
+    private Optional<String> tokenOf(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return Optional.of(authorization.substring(BEARER_PREFIX.length()));
+        }
+        return Optional.ofNullable(request.getCookies().getFirst(SessionTokens.COOKIE_NAME))
+                .map(HttpCookie::getValue);
+    }
+}
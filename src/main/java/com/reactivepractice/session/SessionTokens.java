@@ -0,0 +1,165 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.user.handler.response.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 세션 저장소 대신 로그인 정보를 담아 서명한 토큰. 형식은 base64url(payload).base64url(HMAC-SHA256(payload)) 이다.
+// 검증은 서명과 만료 시각, 로그아웃 목록만 보므로 요청마다 저장소를 조회하지 않는다.
+public class SessionTokens {
+
+    public static final String COOKIE_NAME = "SESSION_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT_VERSION = 2;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Duration ttl;
+    private final TokenRevocations revocations;
+    private final Counter issued;
+    private final Counter rejected;
+
+    private SessionTokens(byte[] secret, Duration ttl, TokenRevocations revocations, MeterRegistry meterRegistry) {
+        this.key = secret == null ? null : new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttl = ttl;
+        this.revocations = revocations;
+        this.issued = meterRegistry == null ? null : Counter.builder("session.token.issued").register(meterRegistry);
+        this.rejected = meterRegistry == null ? null : Counter.builder("session.token.rejected").register(meterRegistry);
+    }
+
+    public static SessionTokens disabled() {
+        return new SessionTokens(null, Duration.ZERO, null, null);
+    }
+
+    public static SessionTokens of(byte[] secret, Duration ttl, TokenRevocations revocations, MeterRegistry meterRegistry) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("session token secret must be at least 32 bytes");
+        }
+        return new SessionTokens(secret, ttl, revocations, meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(UserResponse user) {
+        Instant now = Instant.now();
+        SessionToken token = new SessionToken(ThreadLocalRandom.current().nextLong(), user.getId(), user.getEmail(),
+                user.getName(), now, now.plus(ttl));
+        byte[] payload = encode(token);
+        issued.increment();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Optional<SessionToken> verify(String value) {
+        Optional<SessionToken> token = parse(value)
+                .filter(parsed -> !parsed.isExpired(Instant.now()))
+                .filter(parsed -> !revocations.isRevoked(parsed));
+        if (token.isEmpty()) {
+            rejected.increment();
+        }
+        return token;
+    }
+
+    public void revoke(SessionToken token) {
+        revocations.revoke(token);
+    }
+
+    // 지금까지 이 회원에게 발급한 토큰을 모두 거부한다. 발급된 토큰은 ttl 안에 만료되므로 그때까지만 기억한다.
+    // 토큰의 발급 시각은 밀리초 단위로 기록되므로 기준 시각도 밀리초로 잘라서 직후에 발급한 토큰이 거부되지 않게 한다.
+    public void revokeAll(Long userId) {
+        if (!isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        revocations.revokeIssuedBefore(userId, now, now.plus(ttl));
+    }
+
+    private Optional<SessionToken> parse(String value) {
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(value.substring(0, dot));
+            byte[] signature = DECODER.decode(value.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(payload));
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encode(SessionToken token) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(token.getTokenId());
+            out.writeLong(token.getUserId());
+            out.writeLong(token.getIssuedAt().toEpochMilli());
+            out.writeLong(token.getExpiresAt().getEpochSecond());
+            out.writeUTF(token.getEmail());
+            out.writeUTF(token.getName());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SessionToken decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("unknown session token format: " + version);
+            }
+            long tokenId = in.readLong();
+            long userId = in.readLong();
+            Instant issuedAt = Instant.ofEpochMilli(in.readLong());
+            Instant expiresAt = Instant.ofEpochSecond(in.readLong());
+            return new SessionToken(tokenId, userId, in.readUTF(), in.readUTF(), issuedAt, expiresAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.reactivepractice.session;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 세션 속성을 담는 off-heap 영역. slabSize 크기의 direct buffer 를 필요할 때 하나씩 늘리고,
+// 그 안을 2의 거듭제곱 크기 블록으로 잘라서 준다. 반환된 블록은 크기별 free list 에 넣어 다시 쓴다.
+// 엔트리마다 direct buffer 를 만들지 않으므로 할당이 싸고, 힙에는 블록 위치만 남는다.
+// 크기를 2의 거듭제곱으로 올려 잡으므로 블록 안에 최대 절반까지 빈 공간이 생길 수 있다.
+public class SlabAllocator {
+
+    static final int MIN_BLOCK_SIZE = 64;
+
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final LongStack[] freeBlocks;
+    // 블록을 읽는 동안 같은 블록이 반환되어 다른 세션에 다시 쓰이지 않도록 읽기와 할당/반환을 나눠서 잠근다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int top;
+    private long usedBytes;
+
+    private SlabAllocator(int slabSize) {
+        this.slabSize = slabSize;
+        this.freeBlocks = new LongStack[sizeClassOf(slabSize) + 1];
+        for (int i = 0; i < freeBlocks.length; i++) {
+            freeBlocks[i] = new LongStack();
+        }
+        this.top = slabSize;
+    }
+
+    public static SlabAllocator of(int slabSize) {
+        if (slabSize < MIN_BLOCK_SIZE || Integer.bitCount(slabSize) != 1) {
+            throw new IllegalArgumentException("slab size must be a power of two and at least " + MIN_BLOCK_SIZE + ": " + slabSize);
+        }
+        return new SlabAllocator(slabSize);
+    }
+
+    public Block store(byte[] bytes) {
+        if (bytes.length > slabSize) {
+            throw new IllegalArgumentException("session attributes too large: " + bytes.length + " bytes (max " + slabSize + ")");
+        }
+        int sizeClass = sizeClassOf(bytes.length);
+        lock.writeLock().lock();
+        try {
+            long handle = freeBlocks[sizeClass].isEmpty() ? carve(blockSizeOf(sizeClass)) : freeBlocks[sizeClass].pop();
+            slabOf(handle).put(offsetOf(handle), bytes);
+            usedBytes += blockSizeOf(sizeClass);
+            return new Block(handle, sizeClass, bytes.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이미 반환된 블록이면 null 을 돌려준다. 호출한 쪽은 최신 엔트리를 다시 조회한다.
+    public byte[] load(Block block) {
+        lock.readLock().lock();
+        try {
+            if (block.released) {
+                return null;
+            }
+            byte[] bytes = new byte[block.length];
+            slabOf(block.handle).get(offsetOf(block.handle), bytes);
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void release(Block block) {
+        lock.writeLock().lock();
+        try {
+            if (block.released) {
+                return;
+            }
+            block.released = true;
+            freeBlocks[block.sizeClass].push(block.handle);
+            usedBytes -= blockSizeOf(block.sizeClass);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slabs.size() * slabSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 현재 slab 의 남은 자리에서 자른다. 모자라면 남은 자리를 작은 블록들로 free list 에 넘기고 새 slab 을 잡는다.
+    private long carve(int blockSize) {
+        if (slabSize - top < blockSize) {
+            int slab = slabs.size() - 1;
+            while (slab >= 0 && slabSize - top >= MIN_BLOCK_SIZE) {
+                int sizeClass = sizeClassOf(Integer.highestOneBit(slabSize - top));
+                freeBlocks[sizeClass].push(handleOf(slab, top));
+                top += blockSizeOf(sizeClass);
+            }
+            slabs.add(ByteBuffer.allocateDirect(slabSize));
+            top = 0;
+        }
+        long handle = handleOf(slabs.size() - 1, top);
+        top += blockSize;
+        return handle;
+    }
+
+    private ByteBuffer slabOf(long handle) {
+        return slabs.get((int) (handle >>> 32));
+    }
+
+    private static int offsetOf(long handle) {
+        return (int) handle;
+    }
+
+    private static long handleOf(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int sizeClassOf(int length) {
+        int size = Math.max(length, MIN_BLOCK_SIZE);
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+    }
+
+    private static int blockSizeOf(int sizeClass) {
+        return MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    public static final class Block {
+        private final long handle;
+        private final int sizeClass;
+        private final int length;
+        // lock 안에서만 읽고 쓴다.
+        private boolean released;
+
+        private Block(long handle, int sizeClass, int length) {
+            this.handle = handle;
+            this.sizeClass = sizeClass;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+    }
+
+    private static final class LongStack {
+        private long[] values = new long[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long pop() {
+            return values[--size];
+        }
+    }
+}
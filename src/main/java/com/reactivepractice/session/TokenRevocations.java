@@ -0,0 +1,87 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.BloomFilter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 로그아웃한 토큰 목록. 요청마다 bloom filter 만 보고, 걸린 경우에만 실제 목록으로 false positive 를 거른다.
+// 목록은 토큰 만료 시각까지만 들고 있으면 되므로 capacity 를 넘으면 만료된 항목을 지우고 filter 를 다시 만든다.
+// 다시 만들 때 capacity 를 남은 항목의 두 배로 잡아서, 만료되지 않은 항목이 많아도 재구성은 가끔만 일어난다.
+// 회원 단위 취소는 드물어서 회원 id 별 취소 시각만 따로 둔다.
+public class TokenRevocations {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final ConcurrentMap<Long, Instant> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private int capacity;
+
+    private TokenRevocations(int expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.capacity = expectedRevocations;
+        this.filter = BloomFilter.of(capacity, falsePositiveRate);
+    }
+
+    public static TokenRevocations of(int expectedRevocations, double falsePositiveRate) {
+        return new TokenRevocations(expectedRevocations, falsePositiveRate);
+    }
+
+    // filter 를 다시 만드는 동안 들어온 revoke 가 새 filter 에서 빠지지 않도록 쓰기는 한 번에 하나씩 한다.
+    public synchronized void revoke(SessionToken token) {
+        if (revoked.size() >= capacity) {
+            purgeExpired(Instant.now());
+        }
+        revoked.put(token.getTokenId(), token.getExpiresAt());
+        filter.put(token.getTokenId());
+    }
+
+    public void revokeIssuedBefore(Long userId, Instant revokedAt, Instant keepUntil) {
+        revokedUsers.values().removeIf(userRevocation -> !revokedAt.isBefore(userRevocation.keepUntil));
+        revokedUsers.put(userId, new UserRevocation(revokedAt, keepUntil));
+    }
+
+    public boolean isRevoked(SessionToken token) {
+        if (filter.mightContain(token.getTokenId()) && revoked.containsKey(token.getTokenId())) {
+            return true;
+        }
+        if (revokedUsers.isEmpty()) {
+            return false;
+        }
+        UserRevocation userRevocation = revokedUsers.get(token.getUserId());
+        return userRevocation != null && token.getIssuedAt().isBefore(userRevocation.revokedAt);
+    }
+
+    public synchronized void purgeExpired(Instant now) {
+        revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+        revokedUsers.values().removeIf(userRevocation -> !now.isBefore(userRevocation.keepUntil));
+        capacity = Math.max(expectedRevocations, revoked.size() * 2);
+        BloomFilter rebuilt = BloomFilter.of(capacity, falsePositiveRate);
+        for (Map.Entry<Long, Instant> entry : revoked.entrySet()) {
+            rebuilt.put(entry.getKey());
+        }
+        filter = rebuilt;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    private static final class UserRevocation {
+        private final Instant revokedAt;
+        private final Instant keepUntil;
+
+        private UserRevocation(Instant revokedAt, Instant keepUntil) {
+            this.revokedAt = revokedAt;
+            this.keepUntil = keepUntil;
+        }
+    }
+}
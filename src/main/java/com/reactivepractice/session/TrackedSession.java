@@ -0,0 +1,134 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.user.handler.response.UserResponse;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+// 저장소가 어떤 쓰기를 해야 하는지 알 수 있도록 마지막 저장 이후 바뀐 부분을 기록하는 세션.
+// 접근 시각만 바뀌었으면 touch 로, 그 밖의 변경은 전체 저장으로 처리한다.
+public class TrackedSession implements Session {
+
+    private MapSession delegate;
+    private boolean isNew;
+    private boolean changed;
+
+    private TrackedSession(MapSession delegate, boolean isNew) {
+        this.delegate = delegate;
+        this.isNew = isNew;
+    }
+
+    public static TrackedSession create(Duration maxInactiveInterval) {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return new TrackedSession(session, true);
+    }
+
+    public static TrackedSession loaded(MapSession session) {
+        return new TrackedSession(session, false);
+    }
+
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public boolean isTouchOnly() {
+        return !isNew && !changed && !isIdChanged();
+    }
+
+    public boolean isIdChanged() {
+        return !delegate.getId().equals(delegate.getOriginalId());
+    }
+
+    public String getOriginalId() {
+        return delegate.getOriginalId();
+    }
+
+    // 만료가 없는 세션(음수 maxInactiveInterval)은 Long.MAX_VALUE 로 둬서 sweep 대상에서 빠지게 한다.
+    public long getExpiryTime() {
+        if (delegate.getMaxInactiveInterval().isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return delegate.getLastAccessedTime().plus(delegate.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    public Long getPrincipalId() {
+        Object user = delegate.getAttribute(SessionUtils.USER_SESSION_KEY);
+        return user instanceof UserResponse userResponse ? userResponse.getId() : null;
+    }
+
+    public void markSaved() {
+        if (isIdChanged()) {
+            delegate = new MapSession(delegate);
+        }
+        isNew = false;
+        changed = false;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+        changed = true;
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        delegate.removeAttribute(attributeName);
+        changed = true;
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+        changed = true;
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+}
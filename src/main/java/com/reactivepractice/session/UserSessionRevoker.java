@@ -0,0 +1,25 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.user.service.port.SessionRevoker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// 회원의 세션을 저장소의 회원 색인으로 한 번에 지우고, 토큰 모드에서 발급한 토큰도 함께 거부한다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSessionRevoker implements SessionRevoker {
+
+    private final PrincipalSessionRepository sessionRepository;
+    private final SessionTokens sessionTokens;
+
+    @Override
+    public Mono<Void> revokeAll(Long userId) {
+        return Mono.fromRunnable(() -> sessionTokens.revokeAll(userId))
+                .then(sessionRepository.deleteByPrincipalId(userId))
+                .doOnNext(deleted -> log.info("revoked {} sessions of user {}", deleted, userId))
+                .then();
+    }
+}
@@ -0,0 +1,18 @@
+package com.reactivepractice.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 회원 정보 수정 결과. 비밀번호가 바뀌어서 기존 로그인을 모두 끊었는지 같이 돌려준다.
+@Getter
+@AllArgsConstructor
+@ToString
+public class ModifiedUser {
+    private final User user;
+    private final boolean passwordChanged;
+
+    public static ModifiedUser of(User user, boolean passwordChanged) {
+        return new ModifiedUser(user, passwordChanged);
+    }
+}
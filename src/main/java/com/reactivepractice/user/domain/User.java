@@ -1,6 +1,5 @@
 package com.reactivepractice.user.domain;
 
-import com.reactivepractice.common.PasswordEncoder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,12 +14,13 @@ public class User {
     private String email;
     private String password;
     private String name;
+    private Long version;
 
-    public static User from(UserRequest user, PasswordEncoder passwordEncoder) {
+    public static User from(UserRequest user, String encodedPassword) {
         return User.builder()
                 .id(user.getId())
                 .email(user.getEmail())
-                .password(passwordEncoder.encode(user.getPassword()))
+                .password(encodedPassword)
                 .name(user.getName())
                 .build();
     }
@@ -1,8 +1,12 @@
 package com.reactivepractice.user.handler;
 
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.ETags;
 import com.reactivepractice.common.SessionUtils;
 import com.reactivepractice.exception.model.BadRequestException;
 import com.reactivepractice.exception.model.ForbiddenException;
+import com.reactivepractice.session.SessionTokens;
+import com.reactivepractice.user.domain.ModifiedUser;
 import com.reactivepractice.user.domain.UserRequest;
 import com.reactivepractice.user.handler.port.UserService;
 import com.reactivepractice.user.handler.request.LoginRequest;
@@ -12,12 +16,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.WebSession;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 
 @Component
 @RequiredArgsConstructor
@@ -26,6 +34,7 @@ import reactor.core.publisher.Mono;
 public class UserHandler {
 
     private final UserService userService;
+    private final SessionTokens sessionTokens;
 
     public Mono<ServerResponse> register(ServerRequest serverRequest){
         return serverRequest.bodyToMono(UserRequest.class)
@@ -45,23 +54,34 @@ public class UserHandler {
 
     public Mono<ServerResponse> getUserById(ServerRequest serverRequest) {
         return getPathVariableId(serverRequest)
-                .flatMap(id -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
-                        .body(userService.findById(id).map(UserResponse::of), UserResponse.class)
+                .flatMap(id -> userService.findRevision(id)
+                        .map(revision -> ETags.of("user", id, revision))
+                        .flatMap(eTag -> ETags.isNotModified(serverRequest, eTag)
+                                ? ETags.notModified(eTag)
+                                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).eTag(eTag)
+                                        .body(userService.findById(id).map(UserResponse::of), UserResponse.class))
                         .switchIfEmpty(Mono.error(new BadRequestException())));
     }
 
     public Mono<ServerResponse> getAll(ServerRequest serverRequest) {
-        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(userService.findAll().map(UserResponse::of), UserResponse.class);
+        return CursorRequest.from(serverRequest)
+                .flatMap(userService::findAll)
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(page.map(UserResponse::of))));
     }
 
     public Mono<ServerResponse> login(ServerRequest serverRequest){
         return serverRequest.bodyToMono(LoginRequest.class)
                 .flatMap(userService::login)
-                .flatMap(user -> serverRequest.session()
-                        .doOnNext(webSession -> webSession.getAttributes().put(SessionUtils.USER_SESSION_KEY, UserResponse.of(user)))
-                        .flatMap(webSession -> ServerResponse.status(HttpStatus.OK)
-                                .body(BodyInserters.fromValue(UserResponse.of(user)))));
+                .map(UserResponse::of)
+                .flatMap(user -> sessionTokens.isEnabled()
+                        ? ServerResponse.status(HttpStatus.OK)
+                                .cookie(tokenCookie(serverRequest, sessionTokens.issue(user), sessionTokens.getTtl()))
+                                .body(BodyInserters.fromValue(user))
+                        : SessionUtils.createSession(serverRequest)
+                                .doOnNext(webSession -> webSession.getAttributes().put(SessionUtils.USER_SESSION_KEY, user))
+                                .flatMap(webSession -> ServerResponse.status(HttpStatus.OK)
+                                        .body(BodyInserters.fromValue(user))));
     }
 
     public Mono<ServerResponse> getLoginUser(ServerRequest serverRequest){
@@ -72,13 +92,14 @@ public class UserHandler {
 
     public Mono<ServerResponse> logout(ServerRequest serverRequest){
         return SessionUtils.getLoginUser(serverRequest)
-                .flatMap(user ->
-                    serverRequest.session()
-                            .flatMap(webSession -> {
-                                webSession.invalidate().subscribe();
-//                                webSession.getAttributes().remove("user");
-                                return ServerResponse.ok().build();
-                            }));
+                .flatMap(user -> SessionUtils.getLoginToken(serverRequest)
+                        .map(token -> {
+                            sessionTokens.revoke(token);
+                            return ServerResponse.ok().cookie(tokenCookie(serverRequest, "", Duration.ZERO)).build();
+                        })
+                        .orElseGet(() -> serverRequest.session()
+                                .flatMap(WebSession::invalidate)
+                                .then(ServerResponse.ok().build())));
     }
 
     public Mono<ServerResponse> modify(ServerRequest serverRequest){
@@ -87,8 +108,24 @@ public class UserHandler {
                         .filter(request -> user.getId().equals(request.getId()))
                         .switchIfEmpty(Mono.defer(() -> Mono.error(new ForbiddenException())))
                         .flatMap(userService::modify))
-                .flatMap(response ->
-                                ServerResponse.ok().body(BodyInserters.fromValue(UserResponse.of(response))));
+                .flatMap(modified -> modifiedResponse(serverRequest, modified));
+    }
+
+    // 비밀번호를 바꾸면 이 회원의 로그인이 모두 끊긴다. 토큰 로그인이면 요청한 클라이언트에게 새 토큰을 내려서
+    // 로그인을 이어가고, 세션 로그인이면 현재 세션도 무효로 해서 쿠키를 지워 다시 로그인하게 한다.
+    private Mono<ServerResponse> modifiedResponse(ServerRequest serverRequest, ModifiedUser modified) {
+        UserResponse user = UserResponse.of(modified.getUser());
+        if (!modified.isPasswordChanged()) {
+            return ServerResponse.ok().body(BodyInserters.fromValue(user));
+        }
+        if (SessionUtils.getLoginToken(serverRequest).isPresent()) {
+            return ServerResponse.ok()
+                    .cookie(tokenCookie(serverRequest, sessionTokens.issue(user), sessionTokens.getTtl()))
+                    .body(BodyInserters.fromValue(user));
+        }
+        return serverRequest.session()
+                .flatMap(WebSession::invalidate)
+                .then(ServerResponse.ok().body(BodyInserters.fromValue(user)));
     }
 
     public Mono<ServerResponse> delete(ServerRequest serverRequest){
@@ -100,6 +137,17 @@ public class UserHandler {
                 .then(Mono.defer(() -> ServerResponse.noContent().build()));
     }
 
+    // 세션 쿠키(CookieWebSessionIdResolver)와 같은 속성을 준다. https 요청에서만 Secure 를 붙인다.
+    private ResponseCookie tokenCookie(ServerRequest serverRequest, String token, Duration maxAge) {
+        return ResponseCookie.from(SessionTokens.COOKIE_NAME, token)
+                .httpOnly(true)
+                .secure("https".equalsIgnoreCase(serverRequest.uri().getScheme()))
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+
     private Mono<Long> getPathVariableId(ServerRequest serverRequest) {
         return Mono.just(serverRequest.pathVariable("id"))
                 .map(Long::parseLong)
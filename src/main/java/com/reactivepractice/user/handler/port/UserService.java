@@ -1,9 +1,11 @@
 package com.reactivepractice.user.handler.port;
 
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
 import com.reactivepractice.user.handler.request.LoginRequest;
+import com.reactivepractice.user.domain.ModifiedUser;
 import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.domain.UserRequest;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface UserService {
@@ -13,11 +15,13 @@ public interface UserService {
 
     Mono<User> findById(Long id);
 
-    Flux<User> findAll();
+    Mono<String> findRevision(Long id);
+
+    Mono<CursorPage<User>> findAll(CursorRequest cursorRequest);
 
     Mono<User> login(LoginRequest request);
 
-    Mono<User> modify(UserRequest request);
+    Mono<ModifiedUser> modify(UserRequest request);
 
     Mono<Void> delete(Long id);
 }
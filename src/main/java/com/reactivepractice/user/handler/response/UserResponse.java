@@ -22,4 +22,12 @@ public class UserResponse {
                 .name(user.getName())
                 .build();
     }
+
+    public User toModel() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .name(name)
+                .build();
+    }
 }
@@ -0,0 +1,86 @@
+package com.reactivepractice.user.infrastructure;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reactivepractice.user.domain.User;
+import com.reactivepractice.user.service.port.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final AsyncCache<Long, User> cache;
+
+    private CachingUserRepository(UserRepository delegate, AsyncCache<Long, User> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public static CachingUserRepository of(UserRepository delegate, Duration ttl, long maxSize, MeterRegistry meterRegistry) {
+        AsyncCache<Long, User> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.byId");
+        return new CachingUserRepository(delegate, cache);
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .doOnNext(saved -> cache.put(saved.getId(), CompletableFuture.completedFuture(saved)))
+                .doOnError(throwable -> invalidate(user.getId()));
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    // 같은 id 로 동시에 들어온 miss 는 하나의 조회 future 를 공유한다.
+    // 한 구독자가 취소해도 공유 중인 조회가 취소되지 않도록 suppressCancel 을 켠다.
+    @Override
+    public Mono<User> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(id);
+        }
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> delegate.findById(key).toFuture()), true);
+    }
+
+    @Override
+    public Mono<String> findRevision(Long id) {
+        return delegate.findRevision(id);
+    }
+
+    @Override
+    public Flux<User> findAll(long afterId, int limit) {
+        return delegate.findAll(afterId, limit);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return delegate.deleteById(id)
+                .doFinally(signal -> invalidate(id));
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public long hitCount() {
+        return cache.synchronous().stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.synchronous().stats().missCount();
+    }
+}
@@ -18,6 +18,7 @@ public class UserEntity {
     private String email;
     private String password;
     private String name;
+    private Long version;
 
     public static UserEntity from(User user) {
         return UserEntity.builder()
@@ -25,6 +26,7 @@ public class UserEntity {
                 .email(user.getEmail())
                 .password(user.getPassword())
                 .name(user.getName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -34,6 +36,7 @@ public class UserEntity {
                 .email(email)
                 .password(password)
                 .name(name)
+                .version(version)
                 .build();
     }
 }
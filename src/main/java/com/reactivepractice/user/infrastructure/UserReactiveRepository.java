@@ -1,8 +1,24 @@
 package com.reactivepractice.user.infrastructure;
 
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface UserReactiveRepository extends ReactiveCrudRepository<UserEntity, Long> {
+
+    String FIND_PAGE_SQL = "SELECT * FROM users WHERE id > :afterId ORDER BY id LIMIT :limit";
+
     Mono<UserEntity> findByEmail(String email);
+
+    @Query(FIND_PAGE_SQL)
+    Flux<UserEntity> findPage(long afterId, int limit);
+
+    @Modifying
+    @Query("UPDATE users SET email = :email, password = :password, name = :name, version = version + 1 WHERE id = :id")
+    Mono<Long> update(Long id, String email, String password, String name);
+
+    @Query("SELECT version FROM users WHERE id = :id")
+    Mono<Long> findVersionById(Long id);
 }
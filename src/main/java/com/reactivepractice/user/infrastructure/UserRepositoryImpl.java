@@ -1,5 +1,8 @@
 package com.reactivepractice.user.infrastructure;
 
+import com.reactivepractice.common.HotQuery;
+import com.reactivepractice.common.HotQuerySource;
+import com.reactivepractice.common.RepositoryMetrics;
 import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.service.port.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -7,38 +10,67 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 @Repository
 @RequiredArgsConstructor
-public class UserRepositoryImpl implements UserRepository {
+public class UserRepositoryImpl implements UserRepository, HotQuerySource {
 
     private final UserReactiveRepository userReactiveRepository;
+    private final RepositoryMetrics repositoryMetrics;
 
     @Override
     public Mono<User> save(User user) {
-        return userReactiveRepository.save(UserEntity.from(user))
-                .flatMap(u -> Mono.just(u.toModel()));
+        UserEntity entity = UserEntity.from(user);
+        if (entity.getId() == null) {
+            return repositoryMetrics.timed("user", "insert",
+                    userReactiveRepository.save(entity)
+                            .flatMap(u -> Mono.just(u.toModel())));
+        }
+        return repositoryMetrics.timed("user", "update",
+                userReactiveRepository.update(entity.getId(), entity.getEmail(), entity.getPassword(), entity.getName())
+                        .filter(rows -> rows > 0)
+                        .flatMap(rows -> userReactiveRepository.findById(entity.getId()))
+                        .map(UserEntity::toModel));
     }
 
     @Override
     public Mono<User> findByEmail(String email) {
-        return userReactiveRepository.findByEmail(email)
-                .flatMap(user -> Mono.just(user.toModel()));
+        return repositoryMetrics.timed("user", "findByEmail",
+                userReactiveRepository.findByEmail(email)
+                        .flatMap(user -> Mono.just(user.toModel())));
     }
 
     @Override
     public Mono<User> findById(Long id) {
-        return userReactiveRepository.findById(id)
-                .flatMap(user -> Mono.just(user.toModel()));
+        return repositoryMetrics.timed("user", "findById",
+                userReactiveRepository.findById(id)
+                        .flatMap(user -> Mono.just(user.toModel())));
+    }
+
+    @Override
+    public Mono<String> findRevision(Long id) {
+        return repositoryMetrics.timed("user", "findRevision",
+                userReactiveRepository.findVersionById(id)
+                        .map(String::valueOf));
     }
 
     @Override
-    public Flux<User> findAll() {
-        return userReactiveRepository.findAll()
-                .flatMap(user -> Mono.just(user.toModel()));
+    public Flux<User> findAll(long afterId, int limit) {
+        return repositoryMetrics.timed("user", "findAll",
+                userReactiveRepository.findPage(afterId, limit)
+                        .flatMap(user -> Mono.just(user.toModel())));
     }
 
     @Override
     public Mono<Void> deleteById(Long id) {
-        return userReactiveRepository.deleteById(id);
+        return repositoryMetrics.timed("user", "deleteById", userReactiveRepository.deleteById(id));
+    }
+
+    @Override
+    public List<HotQuery> hotQueries() {
+        return List.of(
+                HotQuery.of("user.findAll", UserReactiveRepository.FIND_PAGE_SQL, Map.of("afterId", 0L, "limit", 21)));
     }
 }
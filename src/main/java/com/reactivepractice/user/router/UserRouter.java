@@ -2,6 +2,7 @@ package com.reactivepractice.user.router;
 
 import com.reactivepractice.common.BCryptPasswordEncoder;
 import com.reactivepractice.common.PasswordEncoder;
+import com.reactivepractice.common.RouteMetricsFilter;
 import com.reactivepractice.exception.model.CustomBaseException;
 import com.reactivepractice.exception.handler.ExceptionHandler;
 import com.reactivepractice.user.handler.UserHandler;
@@ -22,6 +23,7 @@ import static org.springframework.web.reactive.function.server.RequestPredicates
 public class UserRouter {
 
     private final ExceptionHandler exceptionHandler;
+    private final RouteMetricsFilter routeMetricsFilter;
 
     @Bean
     public RouterFunction<ServerResponse> routeUsers(UserHandler userHandler){
@@ -38,6 +40,7 @@ public class UserRouter {
                         .DELETE("/{id}", userHandler::delete)
                         .GET("/{id}", userHandler::getUserById))
                 )
+                .filter(routeMetricsFilter)
                 .filter((request, next) -> next.handle(request)
                         .onErrorResume(CustomBaseException.class, exceptionHandler::handleGlobalException))
                 .build();
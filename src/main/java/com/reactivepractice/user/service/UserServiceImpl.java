@@ -1,18 +1,22 @@
 package com.reactivepractice.user.service;
 
-import com.reactivepractice.common.PasswordEncoder;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.ReactivePasswordEncoder;
 import com.reactivepractice.exception.model.DuplicationException;
+import com.reactivepractice.exception.model.ErrorCode;
 import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.exception.model.NotFoundException;
 import com.reactivepractice.user.handler.request.LoginRequest;
 import com.reactivepractice.user.handler.port.UserService;
+import com.reactivepractice.user.domain.ModifiedUser;
 import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.domain.UserRequest;
+import com.reactivepractice.user.service.port.SessionRevoker;
 import com.reactivepractice.user.service.port.UserRepository;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -21,13 +25,16 @@ import reactor.core.publisher.Mono;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ReactivePasswordEncoder passwordEncoder;
+    private final VerifiedCredentialCache credentialCache;
+    private final SessionRevoker sessionRevoker;
 
     @Override
     public Mono<User> register(UserRequest request){
         return userRepository.findByEmail(request.getEmail())
                 .flatMap(user -> Mono.<User>error(new DuplicationException()))
-                .switchIfEmpty(Mono.defer(() -> userRepository.save(User.from(request, passwordEncoder))))
+                .switchIfEmpty(Mono.defer(() -> passwordEncoder.encode(request.getPassword())
+                        .flatMap(encodedPassword -> userRepository.save(User.from(request, encodedPassword)))))
                 .cache();
     }
 
@@ -42,30 +49,63 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Flux<User> findAll() {
-        return userRepository.findAll();
+    public Mono<String> findRevision(Long id) {
+        return userRepository.findRevision(id)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException(ErrorCode.NOT_FOUND_USER))));
+    }
+
+    @Override
+    public Mono<CursorPage<User>> findAll(CursorRequest cursorRequest) {
+        return userRepository.findAll(cursorRequest.afterOrZero(), cursorRequest.getLimit() + 1)
+                .collectList()
+                .map(users -> CursorPage.of(users, cursorRequest.getLimit(), User::getId));
     }
 
     @Override
     public Mono<User> login(LoginRequest request){
         return userRepository.findByEmail(request.getEmail())
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException())))
-                .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPassword()))
+                .filterWhen(user -> matchesPassword(user, request.getPassword()))
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new UnauthorizedException())))
                 .cache();
     }
 
+    // 비밀번호가 실제로 바뀐 경우에만 기존 로그인 세션과 토큰을 모두 끊는다.
+    // 같은 비밀번호이거나 비밀번호를 보내지 않았으면 저장된 해시를 그대로 쓴다.
     @Override
-    public Mono<User> modify(UserRequest request) {
+    public Mono<ModifiedUser> modify(UserRequest request) {
         return userRepository.findById(request.getId())
-                .flatMap(user -> userRepository.save(User.from(request, passwordEncoder)));
+                .flatMap(user -> isSamePassword(user, request.getPassword())
+                        .flatMap(same -> (same ? Mono.just(user.getPassword()) : passwordEncoder.encode(request.getPassword()))
+                                .flatMap(encodedPassword -> userRepository.save(User.from(request, encodedPassword)))
+                                .doOnNext(saved -> credentialCache.invalidate(saved.getId()))
+                                .flatMap(saved -> same
+                                        ? Mono.just(ModifiedUser.of(saved, false))
+                                        : sessionRevoker.revokeAll(saved.getId()).thenReturn(ModifiedUser.of(saved, true)))));
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         return userRepository.findById(id)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException())))
-                .flatMap(user -> userRepository.deleteById(user.getId()));
+                .flatMap(user -> userRepository.deleteById(user.getId())
+                        .doOnSuccess(unused -> credentialCache.invalidate(user.getId())));
+    }
+
+    private Mono<Boolean> isSamePassword(User user, String rawPassword) {
+        return rawPassword == null ? Mono.just(true) : matchesPassword(user, rawPassword);
+    }
+
+    private Mono<Boolean> matchesPassword(User user, String rawPassword) {
+        if (credentialCache.isVerified(user, rawPassword)) {
+            return Mono.just(true);
+        }
+        return passwordEncoder.matches(rawPassword, user.getPassword())
+                .doOnNext(matched -> {
+                    if (matched) {
+                        credentialCache.verified(user, rawPassword);
+                    }
+                });
     }
 
 }
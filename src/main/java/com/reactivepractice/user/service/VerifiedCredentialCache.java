@@ -0,0 +1,125 @@
+package com.reactivepractice.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reactivepractice.user.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final Cache<CredentialKey, Boolean> cache;
+    private final SecretKeySpec digestKey;
+
+    private VerifiedCredentialCache(Cache<CredentialKey, Boolean> cache) {
+        this.cache = cache;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    public static VerifiedCredentialCache disabled() {
+        return new VerifiedCredentialCache(null);
+    }
+
+    public static VerifiedCredentialCache of(Duration ttl, long maxBytes, MeterRegistry meterRegistry) {
+        Cache<CredentialKey, Boolean> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxBytes)
+                .weigher((CredentialKey key, Boolean value) -> key.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "login.credential");
+        return new VerifiedCredentialCache(cache);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public boolean isVerified(User user, String rawPassword) {
+        if (!isEnabled() || rawPassword == null) {
+            return false;
+        }
+        return cache.getIfPresent(keyOf(user, rawPassword)) != null;
+    }
+
+    public void verified(User user, String rawPassword) {
+        if (!isEnabled() || rawPassword == null) {
+            return;
+        }
+        cache.put(keyOf(user, rawPassword), Boolean.TRUE);
+    }
+
+    public void invalidate(Long userId) {
+        if (!isEnabled()) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> Objects.equals(key.userId, userId));
+    }
+
+    public long hitCount() {
+        return isEnabled() ? cache.stats().hitCount() : 0;
+    }
+
+    public long missCount() {
+        return isEnabled() ? cache.stats().missCount() : 0;
+    }
+
+    private CredentialKey keyOf(User user, String rawPassword) {
+        return new CredentialKey(user.getId(), user.getPassword(), digest(rawPassword));
+    }
+
+    private byte[] digest(String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CredentialKey {
+        private final Long userId;
+        private final String storedHash;
+        private final byte[] passwordDigest;
+
+        private CredentialKey(Long userId, String storedHash, byte[] passwordDigest) {
+            this.userId = userId;
+            this.storedHash = storedHash;
+            this.passwordDigest = passwordDigest;
+        }
+
+        private int weight() {
+            int hashLength = storedHash == null ? 0 : storedHash.length();
+            return ENTRY_OVERHEAD_BYTES + hashLength + passwordDigest.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CredentialKey that)) return false;
+            return Objects.equals(userId, that.userId)
+                    && Objects.equals(storedHash, that.storedHash)
+                    && Arrays.equals(passwordDigest, that.passwordDigest);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(userId, storedHash) + Arrays.hashCode(passwordDigest);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.reactivepractice.user.service.port;
+
+import reactor.core.publisher.Mono;
+
+public interface SessionRevoker {
+    Mono<Void> revokeAll(Long userId);
+}
@@ -11,7 +11,9 @@ public interface UserRepository {
 
     Mono<User> findById(Long id);
 
-    Flux<User> findAll();
+    Mono<String> findRevision(Long id);
+
+    Flux<User> findAll(long afterId, int limit);
 
     Mono<Void> deleteById(Long id);
 }
@@ -3,6 +3,7 @@ create table if not exists users (
     email varchar(50) not null unique,
     password varchar(100) not null,
     name varchar(50) not null,
+    version bigint not null default 0,
     primary key (id)
 );
 create table if not exists posts (
@@ -10,6 +11,7 @@ create table if not exists posts (
     user_id bigint not null,
     title varchar(100) not null,
     contents clob not null,
+    version bigint not null default 0,
     primary key (id),
     constraint post_writer_fk FOREIGN KEY (user_id)
         REFERENCES users (id)
@@ -19,9 +21,28 @@ create table if not exists comments (
     user_id bigint not null,
     post_id bigint not null,
     contents clob not null,
+    version bigint not null default 0,
     primary key (id),
     constraint comment_writer_fk FOREIGN KEY (user_id)
      REFERENCES users (id),
+    -- post-delete.mode 가 cascade 이면 기동 시 ON DELETE CASCADE 로 다시 선언된다. (PostDeleteConfig)
     constraint comment_post_fk FOREIGN KEY (post_id)
         REFERENCES posts (id)
-);
\ No newline at end of file
+);
+create index if not exists idx_posts_user_id on posts (user_id, id);
+create index if not exists idx_comments_post_id on comments (post_id, id);
+create index if not exists idx_comments_user_id on comments (user_id);
+create table if not exists sessions (
+    id varchar(64) not null,
+    -- 로그인한 회원 id. 비밀번호 변경 시 회원의 세션을 한 번에 지우는 데 쓴다.
+    principal_id bigint,
+    creation_time bigint not null,
+    last_accessed_time bigint not null,
+    max_inactive_interval bigint not null,
+    expiry_time bigint not null,
+    -- 크기를 바꾸면 R2dbcSessionRepository.MAX_ATTRIBUTES_BYTES 도 같이 바꾼다.
+    attributes varbinary(8192),
+    primary key (id)
+);
+create index if not exists idx_sessions_expiry_time on sessions (expiry_time);
+create index if not exists idx_sessions_principal_id on sessions (principal_id);
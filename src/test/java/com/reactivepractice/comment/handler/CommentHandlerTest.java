@@ -438,14 +438,14 @@ class CommentHandlerTest {
         Mono<ServerResponse> register = testContainer.commentHandler.modify(request);
 
         StepVerifier.create(register)
-                .expectErrorMatches(throwable -> throwable instanceof UnauthorizedException
-                        && throwable.getMessage().equals("UNAUTHORIZED"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
     @Test
-    @DisplayName("존재하지 않는 회원은 댓글을 수정할 수 없다.")
-    void failedModifyWhenEmptyUser(){
+    @DisplayName("댓글 수정은 회원을 다시 조회하지 않고 세션 정보로 처리한다.")
+    void modifyWithoutUserLookup(){
         TestContainer testContainer = TestContainer.builder().build();
         User user = User.builder()
                 .id(1L)
@@ -479,9 +479,8 @@ class CommentHandlerTest {
         Mono<ServerResponse> register = testContainer.commentHandler.modify(request);
 
         StepVerifier.create(register)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
-                .verify();
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.OK))
+                .verifyComplete();
     }
 
     @Test
@@ -42,7 +42,7 @@ import reactor.test.StepVerifier;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {"user-cache.enabled=false", "post-cache.enabled=false"})
 @Slf4j
 class CommentRouterTest {
 
@@ -284,8 +284,10 @@ class CommentRouterTest {
                 .cookie("SESSION", sessionId)
                 .exchange()
                 .expectStatus().isOk()
-                .expectBodyList(CommentResponse.class)
-                .hasSize(1);
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].content").isEqualTo("댓글 등록")
+                .jsonPath("$.nextCursor").doesNotExist();
     }
 
     @Test
@@ -511,4 +513,44 @@ class CommentRouterTest {
                 .exchange()
                 .expectStatus().isNotFound();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("댓글이 있는 게시글을 삭제하면 댓글도 삭제")
+    void deletePostWithComments() {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .email("test@test.test")
+                .password("test")
+                .build();
+
+        EntityExchangeResult<UserResponse> loginResult = webTestClient
+                .post().uri("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().exists("SESSION")
+                .expectBody(UserResponse.class)
+                .returnResult();
+
+        String sessionId = loginResult.getResponseHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        sessionId = sessionId.split(";")[0].split("=")[1];
+
+        webTestClient
+                .delete().uri(uriBuilder -> uriBuilder
+                        .path("/posts/{id}")
+                        .build(1))
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient
+                .get().uri(uriBuilder -> uriBuilder
+                        .path("/comments/{id}")
+                        .build(1))
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
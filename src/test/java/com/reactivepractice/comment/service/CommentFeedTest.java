@@ -0,0 +1,92 @@
+package com.reactivepractice.comment.service;
+
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.domain.CommentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentFeedTest {
+
+    private CommentFeed commentFeed;
+
+    @BeforeEach
+    void init() {
+        commentFeed = CommentFeed.of(2, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("같은 게시글 구독자에게만 전달")
+    void publishToSamePost() {
+        StepVerifier.create(commentFeed.subscribe(1L).take(1))
+                .then(() -> {
+                    commentFeed.publish(2L, CommentEvent.created(comment(10L)));
+                    commentFeed.publish(1L, CommentEvent.created(comment(11L)));
+                })
+                .assertNext(event -> assertThat(event.getCommentId()).isEqualTo(11L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("마지막 구독자가 나가면 topic 제거")
+    void removeTopicAfterLastSubscriber() {
+        StepVerifier.create(commentFeed.subscribe(1L))
+                .then(() -> {
+                    assertThat(commentFeed.topicCount()).isEqualTo(1);
+                    assertThat(commentFeed.subscriberCount()).isEqualTo(1);
+                })
+                .thenCancel()
+                .verify();
+
+        assertThat(commentFeed.topicCount()).isZero();
+        assertThat(commentFeed.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("느린 구독자는 오래된 이벤트부터 버림")
+    void dropOldestForSlowSubscriber() {
+        StepVerifier.create(commentFeed.subscribe(1L), 0)
+                .then(() -> {
+                    commentFeed.publish(1L, CommentEvent.created(comment(1L)));
+                    commentFeed.publish(1L, CommentEvent.created(comment(2L)));
+                    commentFeed.publish(1L, CommentEvent.created(comment(3L)));
+                })
+                .thenRequest(2)
+                .assertNext(event -> assertThat(event.getCommentId()).isEqualTo(2L))
+                .assertNext(event -> assertThat(event.getCommentId()).isEqualTo(3L))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("발행 순서대로 번호 증가")
+    void sequenceIncreasesInPublishOrder() {
+        StepVerifier.create(commentFeed.subscribe(1L).take(3))
+                .then(() -> {
+                    commentFeed.publish(1L, CommentEvent.created(comment(5L)));
+                    commentFeed.publish(1L, CommentEvent.deleted(comment(5L)));
+                    commentFeed.publish(1L, CommentEvent.modified(comment(3L)));
+                })
+                .assertNext(event -> assertThat(event.getSequence()).isEqualTo(1L))
+                .assertNext(event -> {
+                    assertThat(event.getSequence()).isEqualTo(2L);
+                    assertThat(event.getContents()).isNull();
+                })
+                .assertNext(event -> {
+                    assertThat(event.getSequence()).isEqualTo(3L);
+                    assertThat(event.getCommentId()).isEqualTo(3L);
+                })
+                .verifyComplete();
+    }
+
+    private Comment comment(Long id) {
+        return Comment.builder()
+                .id(id)
+                .contents("댓글" + id)
+                .build();
+    }
+}
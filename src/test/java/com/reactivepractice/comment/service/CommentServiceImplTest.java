@@ -1,16 +1,24 @@
 package com.reactivepractice.comment.service;
 
 import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.comment.domain.CommentBulkRequest;
+import com.reactivepractice.comment.domain.CommentEvent;
 import com.reactivepractice.comment.domain.CommentRequest;
+import com.reactivepractice.common.BulkChunker;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.exception.model.ConflictException;
 import com.reactivepractice.exception.model.ForbiddenException;
 import com.reactivepractice.exception.model.NotFoundException;
-import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.mock.FakeCommentRepository;
 import com.reactivepractice.mock.FakePostRepository;
 import com.reactivepractice.mock.FakeUserRepository;
 import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.post.doamin.PostRequest;
+import com.reactivepractice.post.service.PostAggregateCache;
 import com.reactivepractice.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,16 +31,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 class CommentServiceImplTest {
 
     private CommentServiceImpl commentService;
+    private CommentFeed commentFeed;
 
     @BeforeEach
     void init() {
         FakePostRepository fakePostRepository = new FakePostRepository();
         FakeUserRepository fakeUserRepository = new FakeUserRepository();
         FakeCommentRepository fakeCommentRepository = new FakeCommentRepository();
+        this.commentFeed = CommentFeed.of(16, new SimpleMeterRegistry());
         this.commentService = CommentServiceImpl.builder()
                 .postRepository(fakePostRepository)
                 .userRepository(fakeUserRepository)
                 .commentRepository(fakeCommentRepository)
+                .postCache(PostAggregateCache.disabled())
+                .bulkChunker(BulkChunker.of(2))
+                .commentFeed(commentFeed)
                 .build();
 
         fakeUserRepository.save(User.builder()
@@ -80,6 +93,87 @@ class CommentServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("댓글 등록하면 게시글 구독자에게 전달")
+    void registerPublishesToFeed(){
+        //given
+        CommentRequest request = CommentRequest.builder()
+                .postId(1L)
+                .comment("실시간 댓글")
+                .build();
+
+        //when
+        Flux<CommentEvent> feed = commentService.subscribeFeed(1L).take(1);
+
+        //then
+        StepVerifier.create(feed)
+                .then(() -> commentService.register(request, 1L).block())
+                .assertNext(event -> {
+                    assertThat(event.getType()).isEqualTo(CommentEvent.Type.CREATED);
+                    assertThat(event.getContents()).isEqualTo("실시간 댓글");
+                })
+                .verifyComplete();
+        assertThat(commentFeed.topicCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("없는 게시글 구독")
+    void subscribeFeedNotFoundPost(){
+        StepVerifier.create(commentService.subscribeFeed(99L))
+                .expectErrorSatisfies(throwable -> assertThat(throwable).isInstanceOf(NotFoundException.class))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 등록 항목별 결과")
+    void registerAll(){
+        //given
+        Flux<CommentBulkRequest> requests = Flux.just(
+                CommentBulkRequest.builder().postId(1L).comment("댓글2").build(),
+                CommentBulkRequest.builder().postId(99L).comment("댓글3").build(),
+                CommentBulkRequest.builder().postId(1L).comment("").build());
+
+        //when
+        Flux<BulkResult> results = commentService.registerAll(requests, 2L);
+
+        //then
+        StepVerifier.create(results)
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(0);
+                    assertThat(r.getStatus()).isEqualTo(BulkResult.CREATED);
+                    assertThat(r.getId()).isEqualTo(2);
+                })
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(1);
+                    assertThat(r.getError()).isEqualTo("NOT_FOUND_POST");
+                })
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(2);
+                    assertThat(r.getError()).isEqualTo("BAD_REQUEST");
+                })
+                .verifyComplete();
+        StepVerifier.create(commentService.getComment(2L))
+                .assertNext(c -> assertThat(c.getWriter().getId()).isEqualTo(2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("댓글 일괄 등록 실패 가입하지 않은 회원")
+    void failedRegisterAllWhenEmptyUser(){
+        //given
+        Flux<CommentBulkRequest> requests = Flux.just(
+                CommentBulkRequest.builder().postId(1L).comment("댓글2").build());
+
+        //when
+        Flux<BulkResult> results = commentService.registerAll(requests, 99L);
+
+        //then
+        StepVerifier.create(results)
+                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
+                        && throwable.getMessage().equals("NOT_FOUND_USER"))
+                .verify();
+    }
+
     @Test
     @DisplayName("댓글 등록 실패 가입하지 않은 회원")
     void failedRegisterWhenEmptyUser(){
@@ -162,12 +256,14 @@ class CommentServiceImplTest {
         long postId = 1;
 
         //when
-        Flux<Comment> commentList = commentService.getCommentList(postId);
+        Mono<CursorPage<Comment>> commentList = commentService.getCommentList(postId, CursorRequest.first(CursorRequest.DEFAULT_LIMIT));
 
         //then
         StepVerifier.create(commentList)
-//                .expectNextCount(1)
-                .assertNext(c -> {
+                .assertNext(page -> {
+                    assertThat(page.getItems()).hasSize(1);
+                    assertThat(page.getNextCursor()).isNull();
+                    Comment c = page.getItems().get(0);
                     assertThat(c.getId()).isEqualTo(1);
                     assertThat(c.getContents()).isEqualTo("댓글 등록");
                     assertThat(c.getPost().getId()).isEqualTo(1);
@@ -233,8 +329,8 @@ class CommentServiceImplTest {
 
         //then
         StepVerifier.create(commentMono)
-                .expectErrorMatches(throwable -> throwable instanceof UnauthorizedException
-                        && throwable.getMessage().equals("UNAUTHORIZED"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
@@ -253,8 +349,29 @@ class CommentServiceImplTest {
 
         //then
         StepVerifier.create(commentMono)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("댓글 수정 실패 버전 불일치")
+    void failedModifyWhenStaleVersion(){
+        //given
+        CommentRequest request = CommentRequest.builder()
+                .id(1L)
+                .comment("댓글 수정")
+                .version(5L)
+                .build();
+        long userId = 1;
+
+        //when
+        Mono<Comment> commentMono = commentService.modify(request, userId);
+
+        //then
+        StepVerifier.create(commentMono)
+                .expectErrorMatches(throwable -> throwable instanceof ConflictException
+                        && throwable.getMessage().equals("CONFLICT"))
                 .verify();
     }
 
@@ -273,6 +390,38 @@ class CommentServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("댓글 수정, 삭제하면 작성자와 함께 전달")
+    void modifyAndDeletePublishToFeed() {
+        //given
+        CommentRequest request = CommentRequest.builder()
+                .id(1L)
+                .comment("댓글 수정")
+                .build();
+
+        //when
+        Flux<CommentEvent> feed = commentService.subscribeFeed(1L).take(2);
+
+        //then
+        StepVerifier.create(feed)
+                .then(() -> {
+                    commentService.modify(request, 1L).block();
+                    commentService.delete(1L, 1L).block();
+                })
+                .assertNext(event -> {
+                    assertThat(event.getType()).isEqualTo(CommentEvent.Type.MODIFIED);
+                    assertThat(event.getWriterId()).isEqualTo(1L);
+                    assertThat(event.getContents()).isEqualTo("댓글 수정");
+                })
+                .assertNext(event -> {
+                    assertThat(event.getType()).isEqualTo(CommentEvent.Type.DELETED);
+                    assertThat(event.getCommentId()).isEqualTo(1L);
+                    assertThat(event.getWriterId()).isEqualTo(1L);
+                    assertThat(event.getContents()).isNull();
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("댓글 삭제 실패 존재하지 않는 회원")
     void failedDeleteWhenNotFoundUser() {
@@ -285,8 +434,8 @@ class CommentServiceImplTest {
 
         //then
         StepVerifier.create(result)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
@@ -0,0 +1,50 @@
+package com.reactivepractice.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetStreamTest {
+
+    @Test
+    @DisplayName("마지막 id 이후로 페이지를 이어서 조회")
+    void streamAcrossPages() {
+        List<Long> afterIds = new ArrayList<>();
+
+        StepVerifier.create(KeysetStream.of(2).stream(0L, (after, limit) -> {
+                    afterIds.add(after);
+                    return Flux.range(1, 5).map(Long::valueOf).filter(id -> id > after).take(limit);
+                }, Long::longValue))
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+
+        assertThat(afterIds).containsExactly(0L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("구독자가 요청한 만큼만 다음 페이지 조회")
+    void fetchPagesOnDemand() {
+        List<Long> afterIds = new ArrayList<>();
+        Flux<Long> stream = KeysetStream.of(2).stream(0L, (after, limit) -> {
+            afterIds.add(after);
+            return Flux.range(1, limit).map(i -> after + i);
+        }, Long::longValue);
+
+        StepVerifier.create(stream, 0)
+                .thenRequest(1)
+                .expectNext(1L)
+                .then(() -> assertThat(afterIds).hasSizeLessThanOrEqualTo(2))
+                .thenRequest(4)
+                .expectNext(2L, 3L, 4L, 5L)
+                .thenCancel()
+                .verify();
+
+        assertThat(afterIds).hasSizeLessThanOrEqualTo(4);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reactivepractice.common;
+
+import com.reactivepractice.exception.model.ServiceUnavailableException;
+import com.reactivepractice.mock.FakePasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulerPasswordEncoderTest {
+
+    @Test
+    @DisplayName("전용 스케줄러에서 암호화")
+    void encodeOnScheduler() {
+        Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, "test-password-encoder");
+        SchedulerPasswordEncoder encoder = new SchedulerPasswordEncoder(new FakePasswordEncoder(), scheduler, new SimpleMeterRegistry());
+
+        StepVerifier.create(encoder.encode("test")
+                        .map(encoded -> encoded + ":" + Thread.currentThread().getName()))
+                .assertNext(result -> assertThat(result).startsWith("test:test-password-encoder"))
+                .verifyComplete();
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("비밀번호 비교")
+    void matches() {
+        SchedulerPasswordEncoder encoder = new SchedulerPasswordEncoder(new FakePasswordEncoder(), Schedulers.immediate(), new SimpleMeterRegistry());
+
+        StepVerifier.create(encoder.matches("test", "test"))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(encoder.matches("test", "password"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("스케줄러 큐가 가득 차면 거절")
+    void rejectedWhenQueueIsFull() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Scheduler rejecting = Schedulers.fromExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+        SchedulerPasswordEncoder encoder = new SchedulerPasswordEncoder(new FakePasswordEncoder(), rejecting, meterRegistry);
+
+        StepVerifier.create(encoder.encode("test"))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+        assertThat(meterRegistry.get("password.encoder.rejected").counter().count()).isEqualTo(1);
+    }
+}
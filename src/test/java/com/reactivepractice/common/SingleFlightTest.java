@@ -0,0 +1,66 @@
+package com.reactivepractice.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("동시에 들어온 같은 키 조회는 한 번만 실행")
+    void coalesceConcurrentLoads() {
+        SingleFlight<Long, String> singleFlight = SingleFlight.of("test", new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(Flux.range(0, 10)
+                        .flatMap(i -> singleFlight.execute(1L, key -> Mono.delay(Duration.ofMillis(50))
+                                .doOnSubscribe(subscription -> loads.incrementAndGet())
+                                .thenReturn("post" + key))))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.loadCount()).isEqualTo(1);
+        assertThat(singleFlight.coalescedCount()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("조회가 끝나면 다음 요청은 새로 조회")
+    void loadAgainAfterCompletion() {
+        SingleFlight<Long, String> singleFlight = SingleFlight.of("test", new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(singleFlight.execute(1L, key -> Mono.fromSupplier(() -> "post" + loads.incrementAndGet())))
+                    .expectNext("post" + (i + 1))
+                    .verifyComplete();
+        }
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(singleFlight.coalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 키는 공유하지 않음")
+    void differentKeysAreNotShared() {
+        SingleFlight<Long, String> singleFlight = SingleFlight.of("test", new SimpleMeterRegistry());
+
+        StepVerifier.create(Mono.zip(
+                        singleFlight.execute(1L, key -> Mono.delay(Duration.ofMillis(20)).thenReturn("post" + key)),
+                        singleFlight.execute(2L, key -> Mono.delay(Duration.ofMillis(20)).thenReturn("post" + key))))
+                .assertNext(result -> {
+                    assertThat(result.getT1()).isEqualTo("post1");
+                    assertThat(result.getT2()).isEqualTo("post2");
+                })
+                .verifyComplete();
+        assertThat(singleFlight.loadCount()).isEqualTo(2);
+    }
+}
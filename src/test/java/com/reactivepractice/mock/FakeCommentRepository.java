@@ -2,11 +2,16 @@ package com.reactivepractice.mock;
 
 import com.reactivepractice.comment.domain.Comment;
 import com.reactivepractice.comment.service.port.CommentRepository;
+import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.user.domain.User;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
@@ -15,6 +20,7 @@ public class FakeCommentRepository implements CommentRepository {
 
     private final AtomicLong autoGeneratedId = new AtomicLong(0);
     private final List<Comment> data = new ArrayList<>();
+    private final Map<Long, Long> versions = new HashMap<>();
 
     @Override
     public Mono<Comment> save(Comment comment) {
@@ -26,14 +32,22 @@ public class FakeCommentRepository implements CommentRepository {
                     .contents(comment.getContents())
                     .build();
             data.add(newComment);
+            versions.put(newComment.getId(), 0L);
             return Mono.just(newComment);
         } else {
             data.removeIf(u -> Objects.equals(u.getId(), comment.getId()));
+            versions.merge(comment.getId(), 1L, Long::sum);
             data.add(comment);
             return Mono.just(comment);
         }
     }
 
+    @Override
+    public Flux<Comment> saveAll(List<Comment> comments) {
+        return Flux.fromIterable(comments)
+                .concatMap(this::save);
+    }
+
     @Override
     public Mono<Comment> findById(Long id) {
         return Flux.fromIterable(data)
@@ -42,9 +56,62 @@ public class FakeCommentRepository implements CommentRepository {
     }
 
     @Override
-    public Flux<Comment> findByPostId(Long postId) {
+    public Mono<String> findRevision(Long id) {
+        return findById(id)
+                .map(comment -> String.valueOf(versions.get(id)));
+    }
+
+    @Override
+    public Mono<Comment> findOwnership(Long id) {
+        return findById(id)
+                .map(comment -> Comment.builder()
+                        .id(comment.getId())
+                        .post(comment.getPost())
+                        .writer(comment.getWriter())
+                        .version(versions.get(id))
+                        .build());
+    }
+
+    @Override
+    public Mono<Comment> update(Comment comment) {
+        return findById(comment.getId())
+                .filter(saved -> saved.matchWriter(comment.getWriter()))
+                .filter(saved -> comment.getVersion() == null || comment.getVersion().equals(versions.get(saved.getId())))
+                .map(saved -> Comment.builder()
+                        .id(saved.getId())
+                        .writer(saved.getWriter())
+                        .post(saved.getPost())
+                        .contents(comment.getContents())
+                        .build())
+                .flatMap(this::save)
+                .map(saved -> Comment.builder()
+                        .id(saved.getId())
+                        .writer(User.builder().id(saved.getWriter().getId()).build())
+                        .post(Post.builder().id(saved.getPost().getId()).build())
+                        .contents(saved.getContents())
+                        .version(versions.get(saved.getId()))
+                        .build());
+    }
+
+    @Override
+    public Flux<Comment> findByPostId(Long postId, long afterId, int limit) {
         return Flux.fromIterable(data)
-                .filter(comment -> comment.getPost().getId().equals(postId));
+                .filter(comment -> comment.getPost().getId().equals(postId))
+                .filter(comment -> comment.getId() > afterId)
+                .sort(Comparator.comparing(Comment::getId))
+                .take(limit);
+    }
+
+    @Override
+    public Mono<Comment> deleteOwned(Long id, Long userId) {
+        return findById(id)
+                .filter(comment -> comment.getWriter().getId().equals(userId))
+                .doOnNext(comment -> data.remove(comment));
+    }
+
+    @Override
+    public Flux<Comment> streamByPostId(Long postId, long afterId) {
+        return findByPostId(postId, afterId, Integer.MAX_VALUE);
     }
 
     @Override
@@ -1,12 +1,18 @@
 package com.reactivepractice.mock;
 
+import com.reactivepractice.comment.service.port.CommentRepository;
 import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.post.service.port.PostRepository;
+import com.reactivepractice.user.domain.User;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
@@ -15,6 +21,16 @@ public class FakePostRepository implements PostRepository {
 
     private final AtomicLong autoGeneratedId = new AtomicLong(0);
     private final List<Post> data = new ArrayList<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final CommentRepository commentRepository;
+
+    public FakePostRepository() {
+        this(null);
+    }
+
+    public FakePostRepository(CommentRepository commentRepository) {
+        this.commentRepository = commentRepository;
+    }
 
     @Override
     public Mono<Post> save(Post post) {
@@ -26,14 +42,22 @@ public class FakePostRepository implements PostRepository {
                     .user(post.getUser())
                     .build();
             data.add(newPost);
+            versions.put(newPost.getId(), 0L);
             return Mono.just(newPost);
         } else {
             data.removeIf(u -> Objects.equals(u.getId(), post.getId()));
+            versions.merge(post.getId(), 1L, Long::sum);
             data.add(post);
             return Mono.just(post);
         }
     }
 
+    @Override
+    public Flux<Post> saveAll(List<Post> posts) {
+        return Flux.fromIterable(posts)
+                .concatMap(this::save);
+    }
+
     @Override
     public Mono<Post> findById(Long id) {
         return Flux.fromIterable(data)
@@ -42,8 +66,92 @@ public class FakePostRepository implements PostRepository {
     }
 
     @Override
-    public Flux<Post> findAll() {
-        return Flux.fromIterable(data);
+    public Flux<Long> findExistingIds(Collection<Long> ids) {
+        return Flux.fromIterable(data)
+                .map(Post::getId)
+                .filter(ids::contains);
+    }
+
+    @Override
+    public Mono<Post> findByIdWithComments(Long id) {
+        return withComments(id);
+    }
+
+    @Override
+    public Mono<String> findRevision(Long id) {
+        return withComments(id)
+                .map(Post::revision);
+    }
+
+    private Mono<Post> withComments(Long id) {
+        return findById(id)
+                .flatMap(post -> commentRepository == null
+                        ? Mono.just(post.from(new ArrayList<>()))
+                        : commentRepository.findByPostId(id, 0L, Integer.MAX_VALUE).collectList().map(post::from))
+                .doOnNext(post -> post.setVersion(versions.get(id)));
+    }
+
+    @Override
+    public Mono<Post> findOwnership(Long id) {
+        return findById(id)
+                .map(post -> Post.builder()
+                        .id(post.getId())
+                        .user(post.getUser())
+                        .version(versions.get(id))
+                        .build());
+    }
+
+    @Override
+    public Mono<Post> update(Post post) {
+        return findById(post.getId())
+                .filter(saved -> saved.matchWriter(post.getUser()))
+                .filter(saved -> post.getVersion() == null || post.getVersion().equals(versions.get(saved.getId())))
+                .map(saved -> Post.builder()
+                        .id(saved.getId())
+                        .user(saved.getUser())
+                        .title(post.getTitle())
+                        .contents(post.getContents())
+                        .build())
+                .flatMap(this::save)
+                .map(saved -> Post.builder()
+                        .id(saved.getId())
+                        .user(User.builder().id(saved.getUser().getId()).build())
+                        .title(saved.getTitle())
+                        .contents(saved.getContents())
+                        .version(versions.get(saved.getId()))
+                        .build());
+    }
+
+    @Override
+    public Flux<Post> findAll(long afterId, int limit) {
+        return Flux.fromIterable(data)
+                .filter(post -> post.getId() > afterId)
+                .sort(Comparator.comparing(Post::getId))
+                .take(limit);
+    }
+
+    @Override
+    public Mono<Post> deleteOwned(Long id, Long userId) {
+        return findById(id)
+                .filter(post -> post.getUser().getId().equals(userId))
+                .flatMap(post -> deleteComments(id).thenReturn(post))
+                .doOnNext(post -> data.remove(post));
+    }
+
+    private Mono<Void> deleteComments(Long postId) {
+        if (commentRepository == null) {
+            return Mono.empty();
+        }
+        return commentRepository.findByPostId(postId, 0L, Integer.MAX_VALUE)
+                .collectList()
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(comment -> commentRepository.deleteById(comment.getId()))
+                .then();
+    }
+
+    @Override
+    public Flux<Post> streamAll(long afterId) {
+        return findAll(afterId, Integer.MAX_VALUE);
     }
 
     @Override
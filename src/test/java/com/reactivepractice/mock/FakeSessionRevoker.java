@@ -0,0 +1,22 @@
+package com.reactivepractice.mock;
+
+import com.reactivepractice.user.service.port.SessionRevoker;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FakeSessionRevoker implements SessionRevoker {
+
+    private final List<Long> revokedUserIds = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Mono<Void> revokeAll(Long userId) {
+        return Mono.fromRunnable(() -> revokedUserIds.add(userId));
+    }
+
+    public List<Long> getRevokedUserIds() {
+        return revokedUserIds;
+    }
+}
@@ -7,7 +7,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
@@ -17,6 +20,7 @@ public class FakeUserRepository implements UserRepository {
 
     private final AtomicLong autoGeneratedId = new AtomicLong(0);
     private final List<User> data = new ArrayList<>();
+    private final Map<Long, Long> versions = new HashMap<>();
 
     @Override
     public Mono<User> save(User user) {
@@ -28,9 +32,11 @@ public class FakeUserRepository implements UserRepository {
                     .name(user.getName())
                     .build();
             data.add(newUser);
+            versions.put(newUser.getId(), 0L);
             return Mono.just(newUser);
         } else {
             data.removeIf(u -> Objects.equals(u.getId(), user.getId()));
+            versions.merge(user.getId(), 1L, Long::sum);
             data.add(user);
             return Mono.just(user);
         }
@@ -51,8 +57,17 @@ public class FakeUserRepository implements UserRepository {
     }
 
     @Override
-    public Flux<User> findAll() {
-        return Flux.fromIterable(data);
+    public Mono<String> findRevision(Long id) {
+        return findById(id)
+                .map(user -> String.valueOf(versions.get(id)));
+    }
+
+    @Override
+    public Flux<User> findAll(long afterId, int limit) {
+        return Flux.fromIterable(data)
+                .filter(user -> user.getId() > afterId)
+                .sort(Comparator.comparing(User::getId))
+                .take(limit);
     }
 
     @Override
@@ -1,16 +1,25 @@
 package com.reactivepractice.mock;
 
 import com.reactivepractice.comment.handler.CommentHandler;
+import com.reactivepractice.comment.service.CommentFeed;
 import com.reactivepractice.comment.service.CommentServiceImpl;
 import com.reactivepractice.comment.service.port.CommentRepository;
+import com.reactivepractice.common.BulkChunker;
 import com.reactivepractice.common.PasswordEncoder;
+import com.reactivepractice.common.SchedulerPasswordEncoder;
+import com.reactivepractice.common.SingleFlight;
 import com.reactivepractice.post.hadler.PostHandler;
+import com.reactivepractice.post.service.PostAggregateCache;
 import com.reactivepractice.post.service.PostServiceImpl;
 import com.reactivepractice.post.service.port.PostRepository;
+import com.reactivepractice.session.SessionTokens;
 import com.reactivepractice.user.handler.UserHandler;
 import com.reactivepractice.user.service.UserServiceImpl;
+import com.reactivepractice.user.service.VerifiedCredentialCache;
 import com.reactivepractice.user.service.port.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
+import reactor.core.scheduler.Schedulers;
 
 public class TestContainer {
 
@@ -29,18 +38,24 @@ public class TestContainer {
         this.userRepository = new FakeUserRepository();
         this.passwordEncoder = new FakePasswordEncoder();
         UserServiceImpl userService = UserServiceImpl.builder()
-                .passwordEncoder(passwordEncoder)
+                .passwordEncoder(new SchedulerPasswordEncoder(passwordEncoder, Schedulers.immediate(), new SimpleMeterRegistry()))
+                .credentialCache(VerifiedCredentialCache.disabled())
+                .sessionRevoker(new FakeSessionRevoker())
                 .userRepository(userRepository)
                 .build();
         this.userHandler = UserHandler.builder()
                 .userService(userService)
+                .sessionTokens(SessionTokens.disabled())
                 .build();
-        this.postRepository = new FakePostRepository();
         this.commentRepository = new FakeCommentRepository();
+        this.postRepository = new FakePostRepository(commentRepository);
+        PostAggregateCache postCache = PostAggregateCache.disabled();
         PostServiceImpl postService = PostServiceImpl.builder()
                 .postRepository(postRepository)
                 .userRepository(userRepository)
-                .commentRepository(commentRepository)
+                .postLoads(SingleFlight.of("post", new SimpleMeterRegistry()))
+                .postCache(postCache)
+                .bulkChunker(BulkChunker.of(100))
                 .build();
         this.postHandler = PostHandler.builder()
                 .postService(postService)
@@ -50,6 +65,9 @@ public class TestContainer {
                 .commentRepository(commentRepository)
                 .userRepository(userRepository)
                 .postRepository(postRepository)
+                .postCache(postCache)
+                .bulkChunker(BulkChunker.of(100))
+                .commentFeed(CommentFeed.of(16, new SimpleMeterRegistry()))
                 .build();
 
         this.commentHandler = CommentHandler.builder()
@@ -1,17 +1,26 @@
 package com.reactivepractice.post.hadler;
 
+import com.reactivepractice.common.BulkChunker;
 import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.common.SingleFlight;
 import com.reactivepractice.exception.model.BadRequestException;
 import com.reactivepractice.exception.model.ForbiddenException;
 import com.reactivepractice.exception.model.NotFoundException;
 import com.reactivepractice.exception.model.UnauthorizedException;
+import com.reactivepractice.mock.FakeCommentRepository;
+import com.reactivepractice.mock.FakePostRepository;
+import com.reactivepractice.mock.FakeUserRepository;
 import com.reactivepractice.mock.TestContainer;
 import com.reactivepractice.post.doamin.Post;
 import com.reactivepractice.post.doamin.PostRequest;
+import com.reactivepractice.post.service.PostAggregateCache;
+import com.reactivepractice.post.service.PostServiceImpl;
 import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.handler.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import org.springframework.mock.web.server.MockWebSession;
@@ -19,6 +28,8 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class PostHandlerTest {
@@ -101,6 +112,61 @@ class PostHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("ETag 가 같으면 댓글까지 읽지 않고 304")
+    void getPostNotModifiedWithoutLoadingAggregate(){
+        AtomicInteger aggregateLoads = new AtomicInteger();
+        FakeUserRepository userRepository = new FakeUserRepository();
+        FakePostRepository postRepository = new FakePostRepository(new FakeCommentRepository()) {
+            @Override
+            public Mono<Post> findByIdWithComments(Long id) {
+                aggregateLoads.incrementAndGet();
+                return super.findByIdWithComments(id);
+            }
+        };
+        PostHandler postHandler = PostHandler.builder()
+                .postService(PostServiceImpl.builder()
+                        .postRepository(postRepository)
+                        .userRepository(userRepository)
+                        .postLoads(SingleFlight.of("post", new SimpleMeterRegistry()))
+                        .postCache(PostAggregateCache.disabled())
+                        .bulkChunker(BulkChunker.of(100))
+                        .build())
+                .build();
+        User user = User.builder()
+                .id(1L)
+                .email("test@test.test")
+                .password("test")
+                .build();
+        userRepository.save(user);
+        postRepository.save(Post.builder()
+                .title("제목")
+                .contents("내용")
+                .user(user)
+                .build());
+        MockWebSession mockWebSession = new MockWebSession();
+        mockWebSession.getAttributes().put(SessionUtils.USER_SESSION_KEY, UserResponse.of(user));
+        String eTag = postHandler.getPost(MockServerRequest.builder()
+                        .session(mockWebSession)
+                        .pathVariable("id", "1")
+                        .build())
+                .block()
+                .headers().getETag();
+
+        MockServerRequest request = MockServerRequest.builder()
+                .session(mockWebSession)
+                .pathVariable("id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .build();
+        StepVerifier.create(postHandler.getPost(request))
+                .assertNext(response -> {
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(response.headers().getETag()).isEqualTo(eTag);
+                })
+                .verifyComplete();
+        assertThat(aggregateLoads.get()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("게시글 없음")
     void getNotFoundPost(){
@@ -247,14 +313,14 @@ class PostHandlerTest {
         Mono<ServerResponse> register = testContainer.postHandler.modify(request);
 
         StepVerifier.create(register)
-                .expectErrorMatches(throwable -> throwable instanceof UnauthorizedException
-                        && throwable.getMessage().equals("UNAUTHORIZED"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
     @Test
-    @DisplayName("존재하지 않는 회원은 게시글을 수정할 수 없다.")
-    void failedModifyWhenEmptyUser(){
+    @DisplayName("게시글 수정은 회원을 다시 조회하지 않고 세션 정보로 처리한다.")
+    void modifyWithoutUserLookup(){
         TestContainer testContainer = TestContainer.builder().build();
         User user = User.builder()
                 .id(1L)
@@ -281,9 +347,8 @@ class PostHandlerTest {
         Mono<ServerResponse> register = testContainer.postHandler.modify(request);
 
         StepVerifier.create(register)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
-                .verify();
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.OK))
+                .verifyComplete();
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.reactivepractice.post.router;
 
+import com.reactivepractice.common.Cursor;
 import com.reactivepractice.post.doamin.PostRequest;
 import com.reactivepractice.post.hadler.response.PostResponse;
 import com.reactivepractice.user.handler.request.LoginRequest;
@@ -14,19 +15,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.r2dbc.connection.init.ScriptUtils;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {"user-cache.enabled=false", "post-cache.enabled=false"})
 @Slf4j
 class PostRouterTest {
 
@@ -160,6 +165,71 @@ class PostRouterTest {
                 });
     }
 
+    @Test
+    @DisplayName("게시글 조회 ETag 일치하면 304")
+    void getPostNotModified() {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .email("test@test.test")
+                .password("test")
+                .build();
+
+        EntityExchangeResult<UserResponse> loginResult = webTestClient
+                .post().uri("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectCookie().exists("SESSION")
+                .expectBody(UserResponse.class)
+                .returnResult();
+
+        String sessionId = loginResult.getResponseHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        sessionId = sessionId.split(";")[0].split("=")[1];
+
+        String eTag = webTestClient
+                .get().uri("/posts/{id}", 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(PostResponse.class)
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient
+                .get().uri("/posts/{id}", 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+
+        webTestClient
+                .patch().uri("/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .bodyValue(PostRequest.builder()
+                        .id(2L)
+                        .title("제목 수정")
+                        .contents("내용 수정")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient
+                .get().uri("/posts/{id}", 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .cookie("SESSION", sessionId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PostResponse.class).value(post -> assertThat(post.getTitle()).isEqualTo("제목 수정"));
+    }
+
     @Test
     @DisplayName("없는 게시글 조회")
     void getPostWhenEmpty() {
@@ -211,8 +281,97 @@ class PostRouterTest {
                 .accept(MediaType.APPLICATION_JSON)
                 .exchange()
                 .expectStatus().isOk()
-                .expectBodyList(PostResponse.class)
-                .hasSize(2);
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 커서 조회")
+    void findAllWithCursor(){
+        webTestClient
+                .get().uri(uriBuilder -> uriBuilder
+                        .path("/posts")
+                        .queryParam("limit", 1)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo(1)
+                .jsonPath("$.nextCursor").isEqualTo(Cursor.encode(1L));
+
+        webTestClient
+                .get().uri(uriBuilder -> uriBuilder
+                        .path("/posts")
+                        .queryParam("after", Cursor.encode(1L))
+                        .queryParam("limit", 1)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo(2)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 조회 실패 잘못된 커서")
+    void findAllWhenBadCursor(){
+        webTestClient
+                .get().uri(uriBuilder -> uriBuilder
+                        .path("/posts")
+                        .queryParam("after", "!!")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 NDJSON 스트림 조회")
+    void streamAll(){
+        Flux<PostResponse> posts = webTestClient
+                .get().uri(uriBuilder -> uriBuilder
+                        .path("/posts")
+                        .queryParam("after", Cursor.encode(1L))
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PostResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(posts)
+                .assertNext(post -> {
+                    assertThat(post.getId()).isEqualTo(2);
+                    assertThat(post.getTitle()).isEqualTo("제목2");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 SSE 스트림 조회")
+    void streamAllEvents(){
+        Flux<ServerSentEvent<PostResponse>> events = webTestClient
+                .get().uri("/posts")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<PostResponse>>() {})
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo(Cursor.encode(1L));
+                    assertThat(event.data().getTitle()).isEqualTo("제목");
+                })
+                .assertNext(event -> assertThat(event.id()).isEqualTo(Cursor.encode(2L)))
+                .verifyComplete();
     }
 
     @Test
@@ -0,0 +1,63 @@
+package com.reactivepractice.post.service;
+
+import com.reactivepractice.post.doamin.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostAggregateCacheTest {
+
+    private final PostAggregateCache postCache = PostAggregateCache.of(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("조회 결과 저장")
+    void put() {
+        long loadStamp = postCache.loadStamp();
+        postCache.put(1L, Post.builder().id(1L).title("제목").build(), loadStamp);
+
+        assertThat(postCache.get(1L)).hasValueSatisfying(post -> assertThat(post.getTitle()).isEqualTo("제목"));
+    }
+
+    @Test
+    @DisplayName("조회 중에 쓰기가 있었으면 저장하지 않음")
+    void rejectStaleLoad() {
+        long loadStamp = postCache.loadStamp();
+        postCache.invalidate(1L);
+        postCache.put(1L, Post.builder().id(1L).title("이전 제목").build(), loadStamp);
+
+        assertThat(postCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("쓰기 이후에 시작한 조회는 저장")
+    void acceptLoadAfterWrite() {
+        postCache.invalidate(1L);
+        long loadStamp = postCache.loadStamp();
+        postCache.put(1L, Post.builder().id(1L).title("새 제목").build(), loadStamp);
+
+        assertThat(postCache.get(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("다른 게시글 쓰기는 영향 없음")
+    void writeToOtherPost() {
+        long loadStamp = postCache.loadStamp();
+        postCache.invalidate(2L);
+        postCache.put(1L, Post.builder().id(1L).title("제목").build(), loadStamp);
+
+        assertThat(postCache.get(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("비활성화면 저장하지 않음")
+    void disabled() {
+        PostAggregateCache disabled = PostAggregateCache.disabled();
+        disabled.put(1L, Post.builder().id(1L).build(), disabled.loadStamp());
+
+        assertThat(disabled.get(1L)).isEmpty();
+    }
+}
@@ -1,36 +1,54 @@
 package com.reactivepractice.post.service;
 
+import com.reactivepractice.comment.domain.Comment;
+import com.reactivepractice.common.BulkChunker;
+import com.reactivepractice.common.BulkResult;
+import com.reactivepractice.common.Cursor;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.SingleFlight;
+import com.reactivepractice.exception.model.ConflictException;
 import com.reactivepractice.exception.model.ForbiddenException;
 import com.reactivepractice.exception.model.NotFoundException;
-import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.mock.FakeCommentRepository;
 import com.reactivepractice.mock.FakePostRepository;
 import com.reactivepractice.mock.FakeUserRepository;
 import com.reactivepractice.post.doamin.Post;
+import com.reactivepractice.post.doamin.PostBulkRequest;
 import com.reactivepractice.post.doamin.PostRequest;
 import com.reactivepractice.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class PostServiceImplTest {
 
     private PostServiceImpl postService;
+    private FakeCommentRepository fakeCommentRepository;
+    private PostAggregateCache postCache;
 
     @BeforeEach
     void init() {
-        FakePostRepository fakePostRepository = new FakePostRepository();
+        this.fakeCommentRepository = new FakeCommentRepository();
+        FakePostRepository fakePostRepository = new FakePostRepository(fakeCommentRepository);
         FakeUserRepository fakeUserRepository = new FakeUserRepository();
-        FakeCommentRepository fakeCommentRepository  = new FakeCommentRepository();
+        this.postCache = PostAggregateCache.of(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
         this.postService = PostServiceImpl.builder()
                 .postRepository(fakePostRepository)
                 .userRepository(fakeUserRepository)
-                .commentRepository(fakeCommentRepository)
+                .postLoads(SingleFlight.of("post", new SimpleMeterRegistry()))
+                .postCache(postCache)
+                .bulkChunker(BulkChunker.of(2))
                 .build();
 
         fakeUserRepository.save(User.builder()
@@ -73,6 +91,56 @@ class PostServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("게시글 일괄 등록 항목별 결과")
+    void registerAll(){
+        //given
+        Flux<PostBulkRequest> requests = Flux.just(
+                PostBulkRequest.builder().title("제목2").contents("내용2").build(),
+                PostBulkRequest.builder().title("").contents("내용3").build(),
+                PostBulkRequest.builder().title("제목4").contents("내용4").build());
+
+        //when
+        Flux<BulkResult> results = postService.registerAll(requests, 2L);
+
+        //then
+        StepVerifier.create(results)
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(0);
+                    assertThat(r.getStatus()).isEqualTo(BulkResult.CREATED);
+                    assertThat(r.getId()).isEqualTo(2);
+                })
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(1);
+                    assertThat(r.getError()).isEqualTo("BAD_REQUEST");
+                })
+                .assertNext(r -> {
+                    assertThat(r.getIndex()).isEqualTo(2);
+                    assertThat(r.getStatus()).isEqualTo(BulkResult.CREATED);
+                    assertThat(r.getId()).isEqualTo(3);
+                })
+                .verifyComplete();
+        StepVerifier.create(postService.getPost(3L))
+                .assertNext(p -> assertThat(p.getUser().getId()).isEqualTo(2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("게시글 일괄 등록 실패 저장되지 않은 회원")
+    void failedRegisterAllWhenNotFoundUser(){
+        //given
+        Flux<PostBulkRequest> requests = Flux.just(
+                PostBulkRequest.builder().title("제목2").contents("내용2").build());
+
+        //when
+        Flux<BulkResult> results = postService.registerAll(requests, 99L);
+
+        //then
+        StepVerifier.create(results)
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("게시글 등록 실패 저장되지 않은 회원")
     void failedRegisterWhenNotLogin(){
@@ -114,6 +182,116 @@ class PostServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("게시글 ID로 조회 댓글 포함")
+    void findByIdWithComments(){
+        //given
+        long postId = 1;
+        fakeCommentRepository.save(Comment.builder()
+                .contents("댓글")
+                .writer(User.builder().id(2L).build())
+                .post(Post.builder().id(postId).build())
+                .build());
+
+        //when
+        Mono<Post> postMono = postService.getPost(postId);
+
+        //then
+        StepVerifier.create(postMono)
+                .assertNext(p -> {
+                    assertThat(p.getId()).isEqualTo(1);
+                    assertThat(p.getComments()).hasSize(1);
+                    assertThat(p.getComments().get(0).getContents()).isEqualTo("댓글");
+                    assertThat(p.getComments().get(0).getWriter().getId()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("게시글 ID로 조회 두 번째는 캐시에서 응답")
+    void findByIdFromCache(){
+        //given
+        long postId = 1;
+        postService.getPost(postId).block();
+        fakeCommentRepository.save(Comment.builder()
+                .contents("댓글")
+                .writer(User.builder().id(2L).build())
+                .post(Post.builder().id(postId).build())
+                .build());
+
+        //when
+        Mono<Post> postMono = postService.getPost(postId);
+
+        //then
+        StepVerifier.create(postMono)
+                .assertNext(p -> assertThat(p.getComments()).isEmpty())
+                .verifyComplete();
+        assertThat(postCache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게시글 수정 후 조회하면 캐시 무효화")
+    void findByIdAfterModify(){
+        //given
+        long postId = 1;
+        postService.getPost(postId).block();
+        postService.modify(PostRequest.builder()
+                .id(postId)
+                .title("제목 수정")
+                .contents("내용 수정")
+                .build(), 1L).block();
+
+        //when
+        Mono<Post> postMono = postService.getPost(postId);
+
+        //then
+        StepVerifier.create(postMono)
+                .assertNext(p -> assertThat(p.getTitle()).isEqualTo("제목 수정"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("조회 중에 수정되면 이후 요청은 새로 조회")
+    void findByIdWhenModifiedDuringLoad(){
+        //given
+        Sinks.Empty<Void> gate = Sinks.empty();
+        FakeUserRepository fakeUserRepository = new FakeUserRepository();
+        FakePostRepository gatedPostRepository = new FakePostRepository() {
+            @Override
+            public Mono<Post> findByIdWithComments(Long id) {
+                return super.findByIdWithComments(id).delayUntil(post -> gate.asMono());
+            }
+        };
+        PostServiceImpl gatedPostService = PostServiceImpl.builder()
+                .postRepository(gatedPostRepository)
+                .userRepository(fakeUserRepository)
+                .postLoads(SingleFlight.of("post", new SimpleMeterRegistry()))
+                .postCache(postCache)
+                .bulkChunker(BulkChunker.of(2))
+                .build();
+        gatedPostRepository.save(Post.builder()
+                .user(User.builder().id(1L).build())
+                .title("제목")
+                .contents("내용")
+                .build());
+        long postId = 1;
+
+        //when
+        CompletableFuture<Post> beforeWrite = gatedPostService.getPost(postId).toFuture();
+        gatedPostService.modify(PostRequest.builder()
+                .id(postId)
+                .title("제목 수정")
+                .contents("내용 수정")
+                .build(), 1L).block();
+        CompletableFuture<Post> afterWrite = gatedPostService.getPost(postId).toFuture();
+        gate.tryEmitEmpty();
+
+        //then
+        assertThat(beforeWrite.join().getTitle()).isEqualTo("제목");
+        assertThat(afterWrite.join().getTitle()).isEqualTo("제목 수정");
+        assertThat(postCache.get(postId)).hasValueSatisfying(p -> assertThat(p.getTitle()).isEqualTo("제목 수정"));
+    }
+
     @Test
     @DisplayName("게시글 ID로 조회 게시글 없음")
     void findByIdWhenEmptyPost(){
@@ -133,30 +311,49 @@ class PostServiceImplTest {
     @DisplayName("게시글 목록 조회")
     void findAll(){
         //given
+        CursorRequest cursorRequest = CursorRequest.first(CursorRequest.DEFAULT_LIMIT);
+
         //when
-        Flux<Post> postMono = postService.getAllPosts();
+        Mono<CursorPage<Post>> postMono = postService.getPosts(cursorRequest);
 
         //then
         StepVerifier.create(postMono)
-//                .expectNextCount(1)
-                .assertNext(p -> {
+                .assertNext(page -> {
+                    assertThat(page.getItems()).hasSize(1);
+                    Post p = page.getItems().get(0);
                     assertThat(p.getId()).isEqualTo(1);
                     assertThat(p.getTitle()).isEqualTo("제목");
                     assertThat(p.getContents()).isEqualTo("내용");
                     assertThat(p.getUser().getId()).isEqualTo(1);
-//                    assertThat(p.getUser().getEmail()).isEqualTo("test@test.test");
-//                    assertThat(p.getUser().getName()).isEqualTo("테스트");
+                    assertThat(page.getNextCursor()).isNull();
                 })
-//                .assertNext(p -> {
-//                    assertThat(p.getId()).isEqualTo(2);
-//                    assertThat(p.getTitle()).isEqualTo("제목2");
-//                    assertThat(p.getContents()).isEqualTo("내용2");
-//                    assertThat(p.getUser().getId()).isEqualTo(1);
-//                    assertThat(p.getUser().getEmail()).isEqualTo("test@test.test");
-//                    assertThat(p.getUser().getName()).isEqualTo("테스트");
-//                })
-                .expectComplete()
-                .verify();
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 다음 페이지 조회")
+    void findAllWithCursor(){
+        //given
+        postService.register(PostRequest.builder()
+                .title("제목2")
+                .contents("내용2")
+                .build(), 1L).block();
+
+        //when
+        CursorPage<Post> firstPage = postService.getPosts(CursorRequest.first(1)).block();
+        Mono<CursorPage<Post>> nextPage = postService.getPosts(CursorRequest.builder()
+                .after(Cursor.decode(firstPage.getNextCursor()))
+                .limit(1)
+                .build());
+
+        //then
+        assertThat(firstPage.getItems()).extracting(Post::getId).containsExactly(1L);
+        StepVerifier.create(nextPage)
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(Post::getId).containsExactly(2L);
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
     }
 
     @Test
@@ -220,8 +417,8 @@ class PostServiceImplTest {
 
         //then
         StepVerifier.create(post)
-                .expectErrorMatches(throwable -> throwable instanceof UnauthorizedException
-                        && throwable.getMessage().equals("UNAUTHORIZED"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
@@ -241,8 +438,30 @@ class PostServiceImplTest {
 
         //then
         StepVerifier.create(post)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("게시글 수정 실패 버전 불일치")
+    void failedModifyWhenStaleVersion(){
+        //given
+        PostRequest request = PostRequest.builder()
+                .id(1L)
+                .title("제목 수정")
+                .contents("내용 수정")
+                .version(5L)
+                .build();
+        long userId = 1;
+
+        //when
+        Mono<Post> post = postService.modify(request, userId);
+
+        //then
+        StepVerifier.create(post)
+                .expectErrorMatches(throwable -> throwable instanceof ConflictException
+                        && throwable.getMessage().equals("CONFLICT"))
                 .verify();
     }
 
@@ -261,6 +480,24 @@ class PostServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("게시글 삭제 후 조회하면 게시글 없음")
+    void findByIdAfterDelete() {
+        //given
+        long postId = 1;
+        postService.getPost(postId).block();
+        postService.delete(postId, 1L).block();
+
+        //when
+        Mono<Post> postMono = postService.getPost(postId);
+
+        //then
+        StepVerifier.create(postMono)
+                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
+                        && throwable.getMessage().equals("NOT_FOUND_POST"))
+                .verify();
+    }
+
     @Test
     @DisplayName("게시글 삭제 실패 존재하지 않는 회원")
     void failedDeleteWhenNotFoundUser() {
@@ -273,8 +510,8 @@ class PostServiceImplTest {
 
         //then
         StepVerifier.create(result)
-                .expectErrorMatches(throwable -> throwable instanceof NotFoundException
-                        && throwable.getMessage().equals("NOT_FOUND_USER"))
+                .expectErrorMatches(throwable -> throwable instanceof ForbiddenException
+                        && throwable.getMessage().equals("FORBIDDEN"))
                 .verify();
     }
 
@@ -0,0 +1,112 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.mock.web.server.MockWebSession;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.CookieWebSessionIdResolver;
+import org.springframework.web.server.session.InMemoryWebSessionStore;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyWebSessionManagerTest {
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private InMemoryWebSessionStore sessionStore;
+    private LazyWebSessionManager sessionManager;
+
+    @BeforeEach
+    void init() {
+        CookieWebSessionIdResolver resolver = new CookieWebSessionIdResolver();
+        resolver.setCookieName("SESSION");
+        sessionStore = new InMemoryWebSessionStore();
+        sessionManager = new LazyWebSessionManager(
+                exchange -> Mono.fromSupplier(() -> {
+                    delegateCalls.incrementAndGet();
+                    return new MockWebSession();
+                }),
+                sessionStore,
+                resolver,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("세션 쿠키가 없으면 세션을 만들지 않음")
+    void anonymousRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts"));
+
+        StepVerifier.create(sessionManager.getSession(exchange))
+                .assertNext(session -> {
+                    assertThat(session.isStarted()).isFalse();
+                    assertThat((Object) session.getAttribute(SessionUtils.USER_SESSION_KEY)).isNull();
+                })
+                .verifyComplete();
+        assertThat(delegateCalls.get()).isZero();
+        assertThat(sessionManager.avoidedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("손대지 않은 세션은 응답 후에도 저장하지 않음")
+    void untouchedSessionIsNotSaved() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts"));
+
+        sessionManager.getSession(exchange).block();
+        exchange.getResponse().setComplete().block();
+
+        assertThat(sessionStore.getSessions()).isEmpty();
+        assertThat(exchange.getResponse().getCookies().getFirst("SESSION")).isNull();
+    }
+
+    @Test
+    @DisplayName("세션 쿠키 없이 속성을 쓰면 응답 전에 세션 생성")
+    void createSessionOnFirstWrite() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts"));
+
+        WebSession session = sessionManager.getSession(exchange).block();
+        session.getAttributes().put("key", "value");
+        exchange.getResponse().setComplete().block();
+
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst("SESSION");
+        assertThat(cookie).isNotNull();
+        StepVerifier.create(sessionStore.retrieveSession(cookie.getValue()))
+                .assertNext(saved -> assertThat((Object) saved.getAttribute("key")).isEqualTo("value"))
+                .verifyComplete();
+        assertThat(delegateCalls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("세션 쿠키가 있으면 기존 세션 조회")
+    void requestWithSessionCookie() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/posts")
+                .cookie(new HttpCookie("SESSION", "session-id")));
+
+        StepVerifier.create(sessionManager.getSession(exchange))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(delegateCalls.get()).isEqualTo(1);
+        assertThat(sessionManager.avoidedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("로그인처럼 세션 생성을 요청하면 새로 만듦")
+    void createSessionOnRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/users/login"));
+        exchange.getAttributes().put(SessionUtils.CREATE_SESSION_ATTRIBUTE, Boolean.TRUE);
+
+        StepVerifier.create(sessionManager.getSession(exchange))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(delegateCalls.get()).isEqualTo(1);
+    }
+}
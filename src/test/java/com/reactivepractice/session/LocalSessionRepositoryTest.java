@@ -0,0 +1,156 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.user.handler.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalSessionRepositoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalSessionRepository sessionRepository;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionRepository = LocalSessionRepository.of(Duration.ofMinutes(30), 2, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("세션 저장 후 조회")
+    void saveAndFind() {
+        TrackedSession session = loginSession();
+
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .assertNext(found -> {
+                    UserResponse user = found.getAttribute(SessionUtils.USER_SESSION_KEY);
+                    assertThat(user.getEmail()).isEqualTo("test@test.test");
+                })
+                .verifyComplete();
+        assertThat(sessionRepository.bytesUsed()).isPositive();
+    }
+
+    @Test
+    @DisplayName("허용하지 않은 클래스의 속성은 읽지 않음")
+    void rejectNotAllowedAttributeClass() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("uri", URI.create("http://localhost"));
+        sessionRepository.save(session).block();
+
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("삭제하면 사용 바이트 반환")
+    void deleteReleasesBytes() {
+        TrackedSession session = loginSession();
+
+        StepVerifier.create(sessionRepository.deleteById(session.getId()))
+                .verifyComplete();
+
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .verifyComplete();
+        assertThat(sessionRepository.bytesUsed()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 세션을 다시 저장하면 이전 블록 반환")
+    void resaveReleasesPreviousBlock() {
+        TrackedSession session = loginSession();
+        long bytesUsed = sessionRepository.bytesUsed();
+
+        session.setAttribute(SessionUtils.USER_SESSION_KEY, UserResponse.builder()
+                .id(1L)
+                .email("test@test.test")
+                .name("테스터")
+                .build());
+        sessionRepository.save(session).block();
+
+        assertThat(sessionRepository.bytesUsed()).isEqualTo(bytesUsed);
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .assertNext(found -> {
+                    UserResponse user = found.getAttribute(SessionUtils.USER_SESSION_KEY);
+                    assertThat(user.getName()).isEqualTo("테스터");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("반환된 블록은 새 slab 없이 다시 씀")
+    void reuseReleasedBlocks() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionRepository = LocalSessionRepository.of(Duration.ofMinutes(30), 100, 1024, meterRegistry);
+        TrackedSession first = loginSession();
+        TrackedSession second = loginSession();
+        double slabBytes = meterRegistry.get("session.store.slab.bytes").gauge().value();
+
+        sessionRepository.deleteById(first.getId()).block();
+        sessionRepository.deleteById(second.getId()).block();
+        loginSession();
+        loginSession();
+
+        assertThat(meterRegistry.get("session.store.slab.bytes").gauge().value()).isEqualTo(slabBytes);
+    }
+
+    @Test
+    @DisplayName("회원의 세션 전부 삭제")
+    void deleteByPrincipalId() {
+        TrackedSession first = loginSession();
+        TrackedSession second = loginSession();
+
+        StepVerifier.create(sessionRepository.deleteByPrincipalId(1L))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(sessionRepository.findById(first.getId()))
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(second.getId()))
+                .verifyComplete();
+        assertThat(sessionRepository.bytesUsed()).isZero();
+    }
+
+    @Test
+    @DisplayName("만료된 세션은 조회되지 않음")
+    void expiredSession() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setMaxInactiveInterval(Duration.ofMinutes(1));
+        session.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        sessionRepository.save(session).block();
+
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("최대 세션 수를 넘으면 내보냄")
+    void evictOverMaxSessions() {
+        loginSession();
+        loginSession();
+        loginSession();
+
+        assertThat(sessionRepository.sessionCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("session.store.evictions").counter().count()).isEqualTo(1);
+    }
+
+    private TrackedSession loginSession() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute(SessionUtils.USER_SESSION_KEY, UserResponse.builder()
+                .id(1L)
+                .email("test@test.test")
+                .name("테스트")
+                .build());
+        sessionRepository.save(session).block();
+        return session;
+    }
+}
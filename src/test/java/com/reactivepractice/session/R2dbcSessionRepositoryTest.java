@@ -0,0 +1,183 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.user.handler.response.UserResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {"user-cache.enabled=false", "post-cache.enabled=false"})
+class R2dbcSessionRepositoryTest {
+
+    @Autowired
+    R2dbcSessionRepository sessionRepository;
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.flush().block();
+        databaseClient.sql("DELETE FROM sessions").fetch().rowsUpdated().block();
+    }
+
+    @Test
+    @DisplayName("세션 저장 후 조회")
+    void saveAndFind() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("sessionedUser", UserResponse.builder().id(1L).email("test@test.test").name("테스트").build());
+        sessionRepository.save(session).block();
+
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .assertNext(found -> {
+                    UserResponse user = found.getAttribute("sessionedUser");
+                    assertThat(user.getId()).isEqualTo(1L);
+                    assertThat(user.getEmail()).isEqualTo("test@test.test");
+                    assertThat(user.getName()).isEqualTo("테스트");
+                    assertThat(found.getMaxInactiveInterval()).isEqualTo(session.getMaxInactiveInterval());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("컬럼보다 큰 속성은 저장 실패")
+    void failedSaveWhenAttributesTooLarge() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("large", new long[R2dbcSessionRepository.MAX_ATTRIBUTES_BYTES / 8]);
+
+        StepVerifier.create(sessionRepository.save(session))
+                .expectErrorSatisfies(throwable -> assertThat(throwable)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("too large"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("접근 시각만 바뀐 저장은 flush 때 반영")
+    void touchIsWrittenBehind() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("key", "value");
+        sessionRepository.save(session).block();
+        long saved = lastAccessedTimeOf(session.getId());
+
+        TrackedSession found = sessionRepository.findById(session.getId()).block();
+        found.setLastAccessedTime(Instant.ofEpochMilli(saved).plusSeconds(10));
+        sessionRepository.save(found).block();
+        assertThat(lastAccessedTimeOf(session.getId())).isEqualTo(saved);
+
+        StepVerifier.create(sessionRepository.flush())
+                .expectNext(1L)
+                .verifyComplete();
+        assertThat(lastAccessedTimeOf(session.getId())).isEqualTo(saved + 10_000);
+    }
+
+    @Test
+    @DisplayName("로그아웃 삭제는 flush 를 기다리지 않고 바로 반영")
+    void deleteIsWrittenImmediately() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("key", "value");
+        sessionRepository.save(session).block();
+
+        StepVerifier.create(sessionRepository.deleteById(session.getId()))
+                .verifyComplete();
+
+        assertThat(countOf(session.getId())).isZero();
+        StepVerifier.create(sessionRepository.findById(session.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("회원의 세션 전부 삭제")
+    void deleteByPrincipalId() {
+        TrackedSession first = loginSession(1L);
+        TrackedSession second = loginSession(1L);
+        TrackedSession other = loginSession(2L);
+
+        StepVerifier.create(sessionRepository.deleteByPrincipalId(1L))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(sessionRepository.findById(first.getId()))
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(second.getId()))
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(other.getId()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("세션 id 변경")
+    void changeSessionId() {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute("key", "value");
+        sessionRepository.save(session).block();
+        String originalId = session.getId();
+
+        TrackedSession found = sessionRepository.findById(originalId).block();
+        String changedId = found.changeSessionId();
+        sessionRepository.save(found).block();
+
+        StepVerifier.create(sessionRepository.findById(originalId))
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(changedId))
+                .assertNext(changed -> assertThat((String) changed.getAttribute("key")).isEqualTo("value"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("만료된 세션 정리")
+    void sweepExpired() {
+        TrackedSession expired = sessionRepository.createSession().block();
+        expired.setMaxInactiveInterval(Duration.ofMinutes(1));
+        expired.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        sessionRepository.save(expired).block();
+        TrackedSession alive = sessionRepository.createSession().block();
+        alive.setAttribute("key", "value");
+        sessionRepository.save(alive).block();
+
+        StepVerifier.create(sessionRepository.sweepExpired())
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(expired.getId()))
+                .verifyComplete();
+        StepVerifier.create(sessionRepository.findById(alive.getId()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private TrackedSession loginSession(Long userId) {
+        TrackedSession session = sessionRepository.createSession().block();
+        session.setAttribute(SessionUtils.USER_SESSION_KEY, UserResponse.builder().id(userId).build());
+        sessionRepository.save(session).block();
+        return session;
+    }
+
+    private long countOf(String id) {
+        return databaseClient.sql("SELECT count(*) AS cnt FROM sessions WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("cnt", Long.class))
+                .one()
+                .block();
+    }
+
+    private long lastAccessedTimeOf(String id) {
+        return databaseClient.sql("SELECT last_accessed_time FROM sessions WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("last_accessed_time", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,130 @@
+package com.reactivepractice.session;
+
+import com.reactivepractice.common.SessionUtils;
+import com.reactivepractice.user.handler.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionTokensTest {
+
+    private static final byte[] SECRET = secret((byte) 1);
+
+    private final UserResponse user = UserResponse.builder()
+            .id(1L)
+            .email("test@test.test")
+            .name("테스트")
+            .build();
+
+    @Test
+    @DisplayName("발급한 토큰 검증")
+    void issueAndVerify() {
+        SessionTokens sessionTokens = sessionTokens(Duration.ofMinutes(30));
+
+        String token = sessionTokens.issue(user);
+
+        assertThat(sessionTokens.verify(token)).hasValueSatisfying(verified -> {
+            assertThat(verified.getUserId()).isEqualTo(1L);
+            assertThat(verified.getEmail()).isEqualTo("test@test.test");
+            assertThat(verified.getName()).isEqualTo("테스트");
+        });
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명한 토큰은 거부")
+    void rejectForeignSignature() {
+        String token = SessionTokens.of(secret((byte) 2), Duration.ofMinutes(30), TokenRevocations.of(10, 0.01), new SimpleMeterRegistry())
+                .issue(user);
+
+        assertThat(sessionTokens(Duration.ofMinutes(30)).verify(token)).isEmpty();
+        assertThat(sessionTokens(Duration.ofMinutes(30)).verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 거부")
+    void rejectExpired() {
+        SessionTokens sessionTokens = sessionTokens(Duration.ofSeconds(-1));
+
+        assertThat(sessionTokens.verify(sessionTokens.issue(user))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰은 거부")
+    void rejectRevoked() {
+        SessionTokens sessionTokens = sessionTokens(Duration.ofMinutes(30));
+        String token = sessionTokens.issue(user);
+        String other = sessionTokens.issue(user);
+
+        sessionTokens.revoke(sessionTokens.verify(token).orElseThrow());
+
+        assertThat(sessionTokens.verify(token)).isEmpty();
+        assertThat(sessionTokens.verify(other)).isPresent();
+    }
+
+    @Test
+    @DisplayName("만료되지 않은 로그아웃이 쌓이면 filter 를 두 배씩 늘림")
+    void growRevocationsGeometrically() {
+        TokenRevocations revocations = TokenRevocations.of(10, 0.01);
+        SessionTokens sessionTokens = SessionTokens.of(SECRET, Duration.ofMinutes(30), revocations, new SimpleMeterRegistry());
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            String token = sessionTokens.issue(user);
+            sessionTokens.revoke(sessionTokens.verify(token).orElseThrow());
+            tokens.add(token);
+        }
+
+        assertThat(revocations.size()).isEqualTo(25);
+        assertThat(revocations.capacity()).isEqualTo(40);
+        assertThat(tokens).allSatisfy(token -> assertThat(sessionTokens.verify(token)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("회원 단위로 이전에 발급한 토큰 전부 거부")
+    void rejectAllIssuedBeforeRevokeAll() throws InterruptedException {
+        SessionTokens sessionTokens = sessionTokens(Duration.ofMinutes(30));
+        String token = sessionTokens.issue(user);
+        String otherUser = sessionTokens.issue(UserResponse.builder().id(2L).email("test2@test.test").name("테스트2").build());
+        Thread.sleep(2);
+
+        sessionTokens.revokeAll(1L);
+        Thread.sleep(2);
+        String reissued = sessionTokens.issue(user);
+
+        assertThat(sessionTokens.verify(token)).isEmpty();
+        assertThat(sessionTokens.verify(otherUser)).isPresent();
+        assertThat(sessionTokens.verify(reissued)).isPresent();
+    }
+
+    @Test
+    @DisplayName("검증된 토큰이 있으면 세션 없이 로그인 사용자 조회")
+    void loginUserFromToken() {
+        SessionTokens sessionTokens = sessionTokens(Duration.ofMinutes(30));
+        SessionToken token = sessionTokens.verify(sessionTokens.issue(user)).orElseThrow();
+        MockServerRequest request = MockServerRequest.builder()
+                .attribute(SessionUtils.LOGIN_TOKEN_ATTRIBUTE, token)
+                .build();
+
+        StepVerifier.create(SessionUtils.getLoginUser(request))
+                .assertNext(loginUser -> assertThat(loginUser.getId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    private SessionTokens sessionTokens(Duration ttl) {
+        return SessionTokens.of(SECRET, ttl, TokenRevocations.of(10, 0.01), new SimpleMeterRegistry());
+    }
+
+    private static byte[] secret(byte value) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, value);
+        return secret;
+    }
+}
@@ -124,6 +124,19 @@ class UserHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("ID로 검색 없는 회원")
+    void getUserByIdWhenNotFound() {
+        TestContainer testContainer = TestContainer.builder().build();
+        MockServerRequest request = MockServerRequest.builder()
+                .pathVariable("id", "99")
+                .build();
+        Mono<ServerResponse> register = testContainer.userHandler.getUserById(request);
+        StepVerifier.create(register)
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("ID로 검색 빈 값")
     void getUserByIdWhenEmptyPathVariable() {
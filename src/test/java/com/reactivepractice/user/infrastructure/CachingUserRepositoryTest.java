@@ -0,0 +1,108 @@
+package com.reactivepractice.user.infrastructure;
+
+import com.reactivepractice.mock.FakeUserRepository;
+import com.reactivepractice.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingUserRepositoryTest {
+
+    private final AtomicInteger findByIdCount = new AtomicInteger();
+    private CachingUserRepository cachingUserRepository;
+
+    @BeforeEach
+    void init() {
+        FakeUserRepository fakeUserRepository = new FakeUserRepository() {
+            @Override
+            public Mono<User> findById(Long id) {
+                return Mono.delay(Duration.ofMillis(50))
+                        .doOnNext(tick -> findByIdCount.incrementAndGet())
+                        .then(super.findById(id));
+            }
+        };
+        fakeUserRepository.save(User.builder()
+                .email("test@test.test")
+                .password("test")
+                .name("테스트")
+                .build());
+        cachingUserRepository = CachingUserRepository.of(fakeUserRepository, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("두 번째 조회는 캐시에서 응답")
+    void findByIdFromCache() {
+        StepVerifier.create(cachingUserRepository.findById(1L))
+                .assertNext(user -> assertThat(user.getName()).isEqualTo("테스트"))
+                .verifyComplete();
+        StepVerifier.create(cachingUserRepository.findById(1L))
+                .assertNext(user -> assertThat(user.getName()).isEqualTo("테스트"))
+                .verifyComplete();
+
+        assertThat(findByIdCount.get()).isEqualTo(1);
+        assertThat(cachingUserRepository.hitCount()).isEqualTo(1);
+        assertThat(cachingUserRepository.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 id 동시 조회는 한 번만 조회")
+    void concurrentMissesCoalesce() {
+        StepVerifier.create(Mono.zip(cachingUserRepository.findById(1L), cachingUserRepository.findById(1L)))
+                .assertNext(users -> assertThat(users.getT1().getId()).isEqualTo(users.getT2().getId()))
+                .verifyComplete();
+
+        assertThat(findByIdCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐시하지 않음")
+    void findByIdNotFound() {
+        StepVerifier.create(cachingUserRepository.findById(99L))
+                .verifyComplete();
+        StepVerifier.create(cachingUserRepository.findById(99L))
+                .verifyComplete();
+
+        assertThat(findByIdCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("저장하면 캐시 갱신")
+    void saveRefreshesCache() {
+        cachingUserRepository.findById(1L).block();
+
+        StepVerifier.create(cachingUserRepository.save(User.builder()
+                        .id(1L)
+                        .email("test@test.test")
+                        .password("test")
+                        .name("수정")
+                        .build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(cachingUserRepository.findById(1L))
+                .assertNext(user -> assertThat(user.getName()).isEqualTo("수정"))
+                .verifyComplete();
+        assertThat(findByIdCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제하면 캐시 무효화")
+    void deleteInvalidatesCache() {
+        cachingUserRepository.findById(1L).block();
+
+        StepVerifier.create(cachingUserRepository.deleteById(1L))
+                .verifyComplete();
+
+        StepVerifier.create(cachingUserRepository.findById(1L))
+                .verifyComplete();
+        assertThat(findByIdCount.get()).isEqualTo(2);
+    }
+}
@@ -1,22 +1,30 @@
 package com.reactivepractice.user.service;
 
+import com.reactivepractice.common.Cursor;
+import com.reactivepractice.common.CursorPage;
+import com.reactivepractice.common.CursorRequest;
+import com.reactivepractice.common.SchedulerPasswordEncoder;
 import com.reactivepractice.exception.model.DuplicationException;
 import com.reactivepractice.exception.model.UnauthorizedException;
 import com.reactivepractice.exception.model.NotFoundException;
 import com.reactivepractice.mock.FakePasswordEncoder;
+import com.reactivepractice.mock.FakeSessionRevoker;
 import com.reactivepractice.mock.FakeUserRepository;
 import com.reactivepractice.user.handler.request.LoginRequest;
+import com.reactivepractice.user.domain.ModifiedUser;
 import com.reactivepractice.user.domain.User;
 import com.reactivepractice.user.domain.UserRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,14 +33,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 class UserServiceImplTest {
 
     private UserServiceImpl userService;
+    private FakeSessionRevoker fakeSessionRevoker;
 
     @BeforeEach
     void init() {
         FakeUserRepository fakeUserRepository = new FakeUserRepository();
         FakePasswordEncoder fakePasswordEncoder = new FakePasswordEncoder();
+        this.fakeSessionRevoker = new FakeSessionRevoker();
         this.userService = UserServiceImpl.builder()
                 .userRepository(fakeUserRepository)
-                .passwordEncoder(fakePasswordEncoder)
+                .passwordEncoder(new SchedulerPasswordEncoder(fakePasswordEncoder, Schedulers.immediate(), new SimpleMeterRegistry()))
+                .credentialCache(VerifiedCredentialCache.disabled())
+                .sessionRevoker(fakeSessionRevoker)
                 .build();
 
         fakeUserRepository.save(User.builder()
@@ -170,14 +182,24 @@ class UserServiceImplTest {
     @DisplayName("회원 목록 조회")
     void findAll(){
         //given
+        CursorRequest cursorRequest = CursorRequest.first(1);
+
         //when
-        Flux<User> users = userService.findAll();
+        Mono<CursorPage<User>> firstPage = userService.findAll(cursorRequest);
 
         //then
-        StepVerifier.create(users)
-                .expectNextCount(2)
-                .assertNext(u -> assertThat(u.getEmail()).isEqualTo("test@test.test"))
-                .assertNext(u -> assertThat(u.getEmail()).isEqualTo("test2@test.test"));
+        StepVerifier.create(firstPage.flatMap(page -> {
+                    assertThat(page.getItems()).extracting(User::getEmail).containsExactly("test@test.test");
+                    return userService.findAll(CursorRequest.builder()
+                            .after(Cursor.decode(page.getNextCursor()))
+                            .limit(1)
+                            .build());
+                }))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(User::getEmail).containsExactly("test2@test.test");
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
     }
 
     @Test
@@ -238,6 +260,78 @@ class UserServiceImplTest {
                 .verify();
     }
 
+    @Test
+    @DisplayName("로그인 인증 캐시 적중")
+    void loginWithCredentialCache() {
+        //given
+        FakeUserRepository fakeUserRepository = new FakeUserRepository();
+        fakeUserRepository.save(User.builder()
+                .email("test@test.test")
+                .password("test")
+                .name("테스트")
+                .build());
+        VerifiedCredentialCache credentialCache = VerifiedCredentialCache.of(Duration.ofMinutes(1), 1024 * 1024, new SimpleMeterRegistry());
+        UserServiceImpl service = UserServiceImpl.builder()
+                .userRepository(fakeUserRepository)
+                .passwordEncoder(new SchedulerPasswordEncoder(new FakePasswordEncoder(), Schedulers.immediate(), new SimpleMeterRegistry()))
+                .credentialCache(credentialCache)
+                .sessionRevoker(new FakeSessionRevoker())
+                .build();
+        LoginRequest request = LoginRequest.builder()
+                .email("test@test.test")
+                .password("test")
+                .build();
+
+        //when
+        StepVerifier.create(service.login(request))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(service.login(request))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        assertThat(credentialCache.missCount()).isEqualTo(1);
+        assertThat(credentialCache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("회원 정보 수정 시 인증 캐시 무효화")
+    void invalidateCredentialCacheWhenModify() {
+        //given
+        FakeUserRepository fakeUserRepository = new FakeUserRepository();
+        fakeUserRepository.save(User.builder()
+                .email("test@test.test")
+                .password("test")
+                .name("테스트")
+                .build());
+        VerifiedCredentialCache credentialCache = VerifiedCredentialCache.of(Duration.ofMinutes(1), 1024 * 1024, new SimpleMeterRegistry());
+        UserServiceImpl service = UserServiceImpl.builder()
+                .userRepository(fakeUserRepository)
+                .passwordEncoder(new SchedulerPasswordEncoder(new FakePasswordEncoder(), Schedulers.immediate(), new SimpleMeterRegistry()))
+                .credentialCache(credentialCache)
+                .sessionRevoker(new FakeSessionRevoker())
+                .build();
+        User user = User.builder()
+                .id(1L)
+                .password("test")
+                .build();
+        credentialCache.verified(user, "test");
+
+        //when
+        StepVerifier.create(service.modify(UserRequest.builder()
+                        .id(1L)
+                        .email("test@test.test")
+                        .password("test")
+                        .name("테스트")
+                        .build()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        assertThat(credentialCache.isVerified(user, "test")).isFalse();
+    }
+
     @Test
     @DisplayName("회원 정보 수정")
     void modify() {
@@ -250,11 +344,12 @@ class UserServiceImplTest {
                 .build();
 
         //when
-        Mono<User> register = userService.modify(user);
+        Mono<ModifiedUser> register = userService.modify(user);
 
         //then
         StepVerifier.create(register)
-                .assertNext(u -> {
+                .assertNext(modified -> {
+                    User u = modified.getUser();
                     assertThat(u.getId()).isEqualTo(1);
                     assertThat(u.getEmail()).isEqualTo("test@test.test");
                     assertThat(u.getName()).isEqualTo("이름수정");
@@ -262,6 +357,49 @@ class UserServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("비밀번호를 바꾸면 모든 세션 로그아웃")
+    void revokeSessionsWhenModify() {
+        //given
+        UserRequest user = UserRequest.builder()
+                .id(1L)
+                .email("test@test.test")
+                .password("password")
+                .name("테스트")
+                .build();
+
+        //when
+        StepVerifier.create(userService.modify(user))
+                .assertNext(modified -> assertThat(modified.isPasswordChanged()).isTrue())
+                .verifyComplete();
+
+        //then
+        assertThat(fakeSessionRevoker.getRevokedUserIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("비밀번호가 같으면 세션 유지")
+    void keepSessionsWhenPasswordNotChanged() {
+        //given
+        UserRequest user = UserRequest.builder()
+                .id(1L)
+                .email("test@test.test")
+                .password("test")
+                .name("이름수정")
+                .build();
+
+        //when
+        StepVerifier.create(userService.modify(user))
+                .assertNext(modified -> {
+                    assertThat(modified.isPasswordChanged()).isFalse();
+                    assertThat(modified.getUser().getName()).isEqualTo("이름수정");
+                })
+                .verifyComplete();
+
+        //then
+        assertThat(fakeSessionRevoker.getRevokedUserIds()).isEmpty();
+    }
+
     @Test
     @DisplayName("회원 삭제")
     void delete() {
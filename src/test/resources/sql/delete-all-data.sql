@@ -1,3 +1,4 @@
+delete from `sessions` where 1;
 delete from `comments` where 1;
 delete from `posts` where 1;
 delete from `users` where 1;